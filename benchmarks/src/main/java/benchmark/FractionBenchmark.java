@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import model.Fraction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Fraction arithmetic across operand sizes, from values that stay in longs to BigInteger values.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FractionBenchmark {
+    @Param({"8", "31", "62", "128"})
+    int bits;
+
+    private Fraction[] left;
+    private Fraction[] right;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        left = new Fraction[1024];
+        right = new Fraction[1024];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = Inputs.fraction(random, bits);
+            right[i] = Inputs.fraction(random, bits);
+        }
+    }
+
+    @Benchmark
+    public Fraction add() {
+        index = (index + 1) & 1023;
+        return left[index].add(right[index]);
+    }
+
+    @Benchmark
+    public Fraction multiply() {
+        index = (index + 1) & 1023;
+        return left[index].multiply(right[index]);
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import model.Fraction;
+import model.Matrix;
+import model.Vector;
+
+// Deterministic random inputs for the benchmarks, parameterized by size, density and the bit
+// length of numerators and denominators.
+final class Inputs {
+
+    private Inputs() {
+    }
+
+    // EFFECTS: returns a random non-zero fraction whose numerator and denominator have at most
+    // bits bits
+    static Fraction fraction(Random random, int bits) {
+        BigInteger numerator = new BigInteger(bits, random).add(BigInteger.ONE);
+        BigInteger denominator = new BigInteger(bits, random).add(BigInteger.ONE);
+        if (random.nextBoolean()) {
+            numerator = numerator.negate();
+        }
+        return new Fraction(numerator, denominator);
+    }
+
+    // EFFECTS: returns a random vector of the given size
+    static Vector vector(long seed, int size, int bits) {
+        Random random = new Random(seed);
+        Fraction[] components = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            components[i] = fraction(random, bits);
+        }
+        return new Vector(components);
+    }
+
+    // EFFECTS: returns a random size x size matrix with roughly density of its entries non-zero;
+    // the diagonal is always filled so the matrix is almost surely nonsingular
+    static Matrix matrix(long seed, int size, double density, int bits) {
+        Random random = new Random(seed);
+        Matrix m = new Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i == j || random.nextDouble() < density) {
+                    m.setElement(i, j, fraction(random, bits));
+                }
+            }
+        }
+        return m;
+    }
+}
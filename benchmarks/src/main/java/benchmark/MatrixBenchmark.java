@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import model.Fraction;
+import model.Matrix;
+import model.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Matrix operations across sizes, densities and entry sizes. Matrices cache derived results,
+// so every invocation works on a fresh copy made outside the measured region.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrixBenchmark {
+    @Param({"16", "64", "128"})
+    int size;
+
+    @Param({"0.1", "1.0"})
+    double density;
+
+    @Param({"4", "32"})
+    int bits;
+
+    private Matrix a;
+    private Matrix b;
+    private Vector rhs;
+    private Matrix fresh;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        a = Inputs.matrix(1, size, density, bits);
+        b = Inputs.matrix(2, size, density, bits);
+        rhs = Inputs.vector(3, size, bits);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        fresh = a.copy();
+    }
+
+    @Benchmark
+    public Matrix multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public Matrix calculaterref() {
+        fresh.calculaterref();
+        return fresh;
+    }
+
+    @Benchmark
+    public Fraction getDeterminant() {
+        return fresh.getDeterminant();
+    }
+
+    @Benchmark
+    public Matrix invert() {
+        return fresh.invert();
+    }
+
+    @Benchmark
+    public Vector solve() {
+        return fresh.solve(rhs);
+    }
+}
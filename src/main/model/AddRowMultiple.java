@@ -1,21 +1,24 @@
 package model;
 
 public class AddRowMultiple implements LogElement {
-    private Fraction DeterminantEffect = new Fraction(1, 1);
-    private String operationString;
+    private int sourceRow;    // row whose multiple is added
+    private int destRow;      // row receiving the multiple
+    private Fraction scalar;  // multiple of sourceRow added
 
     // EFFECTS: constructs a log element representing adding (scalar * sourceRow) to destRow
     public AddRowMultiple(int sourceRow, int destRow, Fraction scalar) {
-        this.operationString = (scalar.toString() + " * R" + sourceRow + " + R" + destRow + " -> R" + destRow);
+        this.sourceRow = sourceRow;
+        this.destRow = destRow;
+        this.scalar = scalar;
     }
 
     // EFFECTS: returns the multiplicative effect this operation has on the determinant
     public Fraction getDeterminantEffect() {
-        return this.DeterminantEffect;
+        return Fraction.ONE;
     }
     // EFFECTS: returns the formatted string description of the operation
     public String getString() {
-        return this.operationString;
+        return scalar.toString() + " * R" + sourceRow + " + R" + destRow + " -> R" + destRow;
     }
     
 }
@@ -0,0 +1,113 @@
+package model;
+
+import java.math.BigInteger;
+
+// Fraction-free (Bareiss) elimination of a rational matrix. The rows are first cleared of
+// denominators (see IntegerMatrix); afterwards every update is an exact integer division,
+// so no gcd reductions are needed and entries stay bounded by minors.
+class BareissElimination {
+    private BigInteger[][] rows;          // working integer rows
+    private int numRows;                  // number of rows
+    private int numCols;                  // number of columns
+    private BigInteger rowScaleProduct;   // product of the per-row denominator multipliers
+    private int[] pivotColumns;           // pivot column of each eliminated row
+    private int rank;                     // number of pivots found
+    private int swaps;                    // number of row interchanges performed
+
+    // REQUIRES: storage != null
+    // EFFECTS: constructs an elimination over the integer rows obtained by clearing
+    // denominators of storage, and immediately eliminates every column
+    BareissElimination(MatrixStorage storage) {
+        IntegerMatrix integerMatrix = new IntegerMatrix(storage);
+        this.numRows = integerMatrix.getNumRows();
+        this.numCols = integerMatrix.getNumCols();
+        this.rows = integerMatrix.copyEntries();
+        this.rowScaleProduct = integerMatrix.getScaleProduct();
+        eliminate();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reduces the working rows to fraction-free echelon form, recording pivots
+    private void eliminate() {
+        pivotColumns = new int[Math.min(numRows, numCols)];
+        BigInteger previousPivot = BigInteger.ONE;
+        int r = 0;
+        for (int c = 0; c < numCols && r < numRows; c++) {
+            int p = findPivotRow(c, r);
+            if (p < 0) {
+                continue;
+            }
+            if (p != r) {
+                BigInteger[] temp = rows[p];
+                rows[p] = rows[r];
+                rows[r] = temp;
+                swaps++;
+            }
+            BigInteger pivot = rows[r][c];
+            BigInteger[] pivotRow = rows[r];
+            for (int i = r + 1; i < numRows; i++) {
+                BigInteger[] row = rows[i];
+                BigInteger factor = row[c];
+                boolean factorIsZero = factor.signum() == 0;
+                for (int j = c + 1; j < numCols; j++) {
+                    BigInteger value = pivot.multiply(row[j]);
+                    if (!factorIsZero && pivotRow[j].signum() != 0) {
+                        value = value.subtract(factor.multiply(pivotRow[j]));
+                    }
+                    row[j] = value.divide(previousPivot);
+                }
+                row[c] = BigInteger.ZERO;
+            }
+            previousPivot = pivot;
+            pivotColumns[r] = c;
+            r++;
+        }
+        rank = r;
+    }
+
+    // EFFECTS: returns the row at or below startRow whose entry in col is non-zero with the
+    // fewest bits, or -1 if every such entry is zero
+    private int findPivotRow(int col, int startRow) {
+        int best = -1;
+        int bestBits = Integer.MAX_VALUE;
+        for (int i = startRow; i < numRows; i++) {
+            BigInteger value = rows[i][col];
+            if (value.signum() != 0 && value.bitLength() < bestBits) {
+                best = i;
+                bestBits = value.bitLength();
+            }
+        }
+        return best;
+    }
+
+    // EFFECTS: returns the rank of the eliminated matrix
+    int getRank() {
+        return rank;
+    }
+
+    // REQUIRES: limit >= 0
+    // EFFECTS: returns the number of pivots found in the columns before limit; this is the
+    // rank of the leading limit columns of the original matrix
+    int getRankOfLeadingColumns(int limit) {
+        int count = 0;
+        for (int i = 0; i < rank; i++) {
+            if (pivotColumns[i] < limit) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // REQUIRES: the eliminated matrix is square
+    // EFFECTS: returns the determinant of the original rational matrix
+    Fraction getDeterminant() {
+        if (rank < numRows) {
+            return Fraction.ZERO;
+        }
+        BigInteger det = rows[numRows - 1][numCols - 1];
+        if (swaps % 2 == 1) {
+            det = det.negate();
+        }
+        return Fraction.valueOf(det, rowScaleProduct);
+    }
+}
@@ -0,0 +1,195 @@
+package model;
+
+import java.math.BigInteger;
+
+// Solves a square nonsingular system A x = b exactly by Dixon's p-adic lifting. The system is
+// scaled to integers and A is inverted once modulo a word-sized prime p. Each lifting step finds
+// the next base-p digit of x with a matrix-vector product mod p and divides the residual by p,
+// so the only big-number work is on vectors. Once p^k exceeds twice the bound on numerator times
+// denominator, x is recovered from its p-adic expansion by rational reconstruction and checked.
+class DixonSolver {
+    private static final int PRIME_ATTEMPTS = 3;   // primes tried before A is taken to be singular
+
+    private IntegerMatrix system;    // [A | b] with each row scaled to integers
+    private BigInteger[][] entries;  // integer entries of [A | b]
+    private int n;                   // number of unknowns
+
+    // REQUIRES: augmented has n rows and n + 1 columns
+    // EFFECTS: prepares to solve the system whose augmented matrix is augmented
+    DixonSolver(MatrixStorage augmented) {
+        this.system = new IntegerMatrix(augmented);
+        this.entries = system.copyEntries();
+        this.n = augmented.getNumRows();
+    }
+
+    // EFFECTS: returns the unique solution, or null if A is singular modulo every prime tried
+    // or the reconstructed solution fails verification
+    Vector solve() {
+        for (int k = 0; k < PRIME_ATTEMPTS; k++) {
+            PrimeField field = new PrimeField(PrimeField.getPrime(k));
+            long[][] inverse = invert(field);
+            if (inverse != null) {
+                return lift(field, inverse);
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the inverse of A modulo the field's prime in Montgomery form, or null if
+    // A is singular modulo that prime
+    private long[][] invert(PrimeField field) {
+        long[][] residues = system.residues(field);
+        long[][] a = new long[n][2 * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(residues[i], 0, a[i], 0, n);
+            a[i][n + i] = field.one();
+        }
+        for (int c = 0; c < n; c++) {
+            int p = c;
+            while (p < n && a[p][c] == 0) {
+                p++;
+            }
+            if (p == n) {
+                return null;
+            }
+            long[] temp = a[p];
+            a[p] = a[c];
+            a[c] = temp;
+            long inverse = field.inverse(a[c][c]);
+            for (int j = c; j < 2 * n; j++) {
+                a[c][j] = field.multiply(a[c][j], inverse);
+            }
+            for (int i = 0; i < n; i++) {
+                long factor = a[i][c];
+                if (i == c || factor == 0) {
+                    continue;
+                }
+                for (int j = c; j < 2 * n; j++) {
+                    a[i][j] = field.subtract(a[i][j], field.multiply(factor, a[c][j]));
+                }
+            }
+        }
+        long[][] result = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a[i], n, result[i], 0, n);
+        }
+        return result;
+    }
+
+    // REQUIRES: inverse is the inverse of A modulo the field's prime, in Montgomery form
+    // EFFECTS: lifts the solution p-adically until it can be reconstructed, then returns it,
+    // or null if reconstruction or verification fails
+    private Vector lift(PrimeField field, long[][] inverse) {
+        BigInteger p = BigInteger.valueOf(field.getPrime());
+        int targetBits = 2 * system.hadamardBoundBits() + 2;
+        BigInteger[] residual = new BigInteger[n];
+        BigInteger[] expansion = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            residual[i] = entries[i][n];
+            expansion[i] = BigInteger.ZERO;
+        }
+        long[] r = new long[n];
+        long[] digit = new long[n];
+        BigInteger modulus = BigInteger.ONE;
+        while (modulus.bitLength() <= targetBits) {
+            for (int i = 0; i < n; i++) {
+                r[i] = field.toMontgomery(field.reduce(residual[i]));
+            }
+            for (int i = 0; i < n; i++) {
+                long sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum = field.add(sum, field.multiply(inverse[i][j], r[j]));
+                }
+                digit[i] = field.fromMontgomery(sum);
+            }
+            for (int i = 0; i < n; i++) {
+                BigInteger update = residual[i];
+                for (int j = 0; j < n; j++) {
+                    if (digit[j] != 0 && entries[i][j].signum() != 0) {
+                        update = update.subtract(entries[i][j].multiply(BigInteger.valueOf(digit[j])));
+                    }
+                }
+                residual[i] = update.divide(p);
+            }
+            for (int i = 0; i < n; i++) {
+                expansion[i] = expansion[i].add(modulus.multiply(BigInteger.valueOf(digit[i])));
+            }
+            modulus = modulus.multiply(p);
+        }
+        return reconstruct(expansion, modulus);
+    }
+
+    // REQUIRES: expansion[i] is the solution's i-th component modulo modulus
+    // EFFECTS: returns the rational solution with the given residues, found with a common
+    // denominator that grows only when a component needs a new factor, or null if
+    // reconstruction fails or the result does not satisfy the system
+    private Vector reconstruct(BigInteger[] expansion, BigInteger modulus) {
+        BigInteger bound = modulus.shiftRight(1).sqrt();
+        BigInteger half = modulus.shiftRight(1);
+        BigInteger denominator = BigInteger.ONE;
+        BigInteger[] numerators = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            BigInteger y = expansion[i].multiply(denominator).mod(modulus);
+            if (y.compareTo(half) > 0) {
+                y = y.subtract(modulus);
+            }
+            if (y.abs().compareTo(bound) <= 0) {
+                numerators[i] = y;
+                continue;
+            }
+            BigInteger[] fraction = reconstructComponent(y.mod(modulus), modulus, bound);
+            if (fraction == null) {
+                return null;
+            }
+            for (int k = 0; k < i; k++) {
+                numerators[k] = numerators[k].multiply(fraction[1]);
+            }
+            numerators[i] = fraction[0];
+            denominator = denominator.multiply(fraction[1]);
+        }
+        if (!isSolution(numerators, denominator)) {
+            return null;
+        }
+        Fraction[] x = new Fraction[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Fraction.valueOf(numerators[i], denominator);
+        }
+        return new Vector(x);
+    }
+
+    // REQUIRES: 0 <= y < modulus
+    // EFFECTS: returns {u, v} with u = v * y mod modulus, |u| <= bound and 0 < v <= bound,
+    // or null if there is no such pair
+    private static BigInteger[] reconstructComponent(BigInteger y, BigInteger modulus, BigInteger bound) {
+        BigInteger r0 = modulus;
+        BigInteger r1 = y;
+        BigInteger t0 = BigInteger.ZERO;
+        BigInteger t1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] qr = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = qr[1];
+            BigInteger t2 = t0.subtract(qr[0].multiply(t1));
+            t0 = t1;
+            t1 = t2;
+        }
+        if (t1.signum() == 0 || t1.abs().compareTo(bound) > 0 || !r1.gcd(t1).equals(BigInteger.ONE)) {
+            return null;
+        }
+        return t1.signum() > 0 ? new BigInteger[] {r1, t1} : new BigInteger[] {r1.negate(), t1.negate()};
+    }
+
+    // EFFECTS: returns true if A * (numerators / denominator) == b for the integer system
+    private boolean isSolution(BigInteger[] numerators, BigInteger denominator) {
+        for (int i = 0; i < n; i++) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int j = 0; j < n; j++) {
+                sum = sum.add(entries[i][j].multiply(numerators[j]));
+            }
+            if (!sum.equals(entries[i][n].multiply(denominator))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
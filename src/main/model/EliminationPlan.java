@@ -0,0 +1,136 @@
+package model;
+
+// Represents a fixed sequence of row operations compiled from a recorded elimination. Replaying
+// it performs the same swaps, scalings and row additions with the recorded multipliers, so no
+// pivots are searched for and no multipliers are derived. Applied to a right-hand side it gives
+// the reduced right-hand side; applied to the identity it gives the product of the elementary
+// matrices, which is the inverse when the eliminated matrix was invertible.
+public class EliminationPlan {
+    private byte[] ops;          // op code of each operation, as in OperationLog
+    private int[] firstRows;     // row swapped, scaled or used as the source
+    private int[] secondRows;    // row swapped with or added to; unused for scaling
+    private Fraction[] scalars;  // scalar of each operation, null for swaps
+    private int numRows;         // number of rows the plan operates on
+
+    // REQUIRES: the arrays have equal lengths and every row index is below numRows
+    // EFFECTS: constructs a plan performing the given operations in order
+    EliminationPlan(byte[] ops, int[] firstRows, int[] secondRows, Fraction[] scalars, int numRows) {
+        this.ops = ops;
+        this.firstRows = firstRows;
+        this.secondRows = secondRows;
+        this.scalars = scalars;
+        this.numRows = numRows;
+    }
+
+    // EFFECTS: returns the number of row operations in the plan
+    public int size() {
+        return ops.length;
+    }
+
+    // EFFECTS: returns the number of rows the plan operates on
+    public int getNumRows() {
+        return numRows;
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the op code of operation i
+    byte getOp(int i) {
+        return ops[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the row swapped, scaled or used as the source by operation i
+    int getFirstRow(int i) {
+        return firstRows[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the row swapped with or added to by operation i
+    int getSecondRow(int i) {
+        return secondRows[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the scalar of operation i, or null for a swap
+    Fraction getScalar(int i) {
+        return scalars[i];
+    }
+
+    // REQUIRES: m != null, m.getNumRows() == getNumRows()
+    // EFFECTS: returns a copy of m with the plan's row operations applied; m is not modified
+    public Matrix apply(Matrix m) {
+        Matrix result = m.detachedCopy();
+        result.setLogging(false);
+        result.applyPlan(this);
+        result.setLogging(true);
+        return result;
+    }
+
+    // REQUIRES: b != null, b.size() == getNumRows()
+    // EFFECTS: returns b with the plan's row operations applied
+    public Vector apply(Vector b) {
+        Fraction[] x = new Fraction[numRows];
+        for (int i = 0; i < numRows; i++) {
+            x[i] = b.getComponent(i);
+        }
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = 0; i < ops.length; i++) {
+            int first = firstRows[i];
+            int second = secondRows[i];
+            switch (ops[i]) {
+                case OperationLog.SWAP:
+                    Fraction temp = x[first];
+                    x[first] = x[second];
+                    x[second] = temp;
+                    break;
+                case OperationLog.SCALE:
+                    x[first] = x[first].multiply(scalars[i]);
+                    break;
+                default:
+                    if (!x[first].isZero()) {
+                        sum.set(x[second]);
+                        sum.addProduct(scalars[i], x[first]);
+                        x[second] = sum.toFraction();
+                    }
+            }
+        }
+        return new Vector(x);
+    }
+
+    // EFFECTS: returns the plan's row operations applied to the identity matrix, that is, the
+    // matrix E with E * A equal to the plan applied to A
+    public Matrix applyToIdentity() {
+        Matrix identity = new Matrix(numRows, numRows);
+        Fraction one = Fraction.ONE;
+        for (int i = 0; i < numRows; i++) {
+            identity.setElement(i, i, one);
+        }
+        return apply(identity);
+    }
+
+    // EFFECTS: returns a plan of the operations recorded in log, operating on numRows rows
+    static EliminationPlan compile(OperationLog log, int numRows) {
+        int n = log.size();
+        byte[] ops = new byte[n];
+        int[] firstRows = new int[n];
+        int[] secondRows = new int[n];
+        Fraction[] scalars = new Fraction[n];
+        for (int i = 0; i < n; i++) {
+            ops[i] = log.getOp(i);
+            firstRows[i] = log.getFirstRow(i);
+            secondRows[i] = log.getSecondRow(i);
+            scalars[i] = log.getScalar(i);
+        }
+        return new EliminationPlan(ops, firstRows, secondRows, scalars, numRows);
+    }
+
+    // EFFECTS: returns a string listing the plan's operations, one per line
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < ops.length; i++) {
+            LogElement element = OperationLog.toElement(ops[i], firstRows[i], secondRows[i], scalars[i]);
+            builder.append(element.getString()).append('\n');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents a step-by-step record of coefficient growth during an elimination. After each
+// pivot step it keeps the largest numerator and denominator bit lengths, the number of non-zero
+// entries and an estimated gcd reduction ratio: the combined height of the entries updated in
+// that step divided by an estimate of the height they would have had without cancelling common
+// factors. The estimate adds up operand bit lengths as the cross-multiplication would, so it is
+// an upper bound that can exceed the true unreduced height by a few bits per entry; the ratio
+// is a guide to how much gcds removed, not a count of the bits they removed. A ratio near 1
+// means gcds removed little; a small ratio means most of the growth cancelled out.
+public class EliminationTrace {
+    private int[] numeratorBits;     // largest numerator bit length after each step
+    private int[] denominatorBits;   // largest denominator bit length after each step
+    private int[] nonZeros;          // non-zero entries after each step
+    private double[] gcdRatios;      // estimated gcd reduction ratio of each step
+    private int steps;               // number of steps recorded
+    private long pendingPredicted;   // estimated unreduced height of the current step's updates so far
+    private long pendingActual;      // reduced height of the current step's updates so far
+    private int[] rowNonZeros;       // non-zero entries of each row of the current elimination
+    private int[] rowNumeratorBits;  // largest numerator bit length of each row
+    private int[] rowDenominatorBits;  // largest denominator bit length of each row
+
+    // EFFECTS: constructs an empty trace
+    public EliminationTrace() {
+        this.numeratorBits = new int[8];
+        this.denominatorBits = new int[8];
+        this.nonZeros = new int[8];
+        this.gcdRatios = new double[8];
+    }
+
+    // EFFECTS: returns an upper bound on the height of dest + multiplier * source before any
+    // common factor is cancelled, estimated from the bit lengths of the operands
+    static long unreducedHeight(Fraction dest, Fraction multiplier, Fraction source) {
+        int productNumerator = multiplier.getNumeratorBitLength() + source.getNumeratorBitLength();
+        int productDenominator = multiplier.getDenominatorBitLength() + source.getDenominatorBitLength();
+        if (dest.isZero()) {
+            return productNumerator + productDenominator;
+        }
+        int numerator = Math.max(dest.getNumeratorBitLength() + productDenominator,
+                productNumerator + dest.getDenominatorBitLength()) + 1;
+        return numerator + dest.getDenominatorBitLength() + productDenominator;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an entry update of the current step with the given estimated unreduced
+    // height and actual height
+    void recordUpdate(long predicted, long actual) {
+        pendingPredicted += predicted;
+        pendingActual += actual;
+    }
+
+    // REQUIRES: rows != null, rows is rectangular
+    // MODIFIES: this
+    // EFFECTS: starts an elimination of a matrix with the given rows by measuring every row;
+    // its steps then re-measure only the rows they change
+    void begin(Fraction[][] rows) {
+        rowNonZeros = new int[rows.length];
+        rowNumeratorBits = new int[rows.length];
+        rowDenominatorBits = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            measureRow(i, rows[i]);
+        }
+    }
+
+    // REQUIRES: begin has been called, 0 <= r1, r2 < number of rows passed to begin
+    // MODIFIES: this
+    // EFFECTS: records that rows r1 and r2 were interchanged
+    void swapRows(int r1, int r2) {
+        swap(rowNonZeros, r1, r2);
+        swap(rowNumeratorBits, r1, r2);
+        swap(rowDenominatorBits, r1, r2);
+    }
+
+    // REQUIRES: begin has been called, 0 <= row < number of rows passed to begin
+    // MODIFIES: this
+    // EFFECTS: records the current entries of row, which the current step changed
+    void measureRow(int row, Fraction[] entries) {
+        int maxNumerator = 0;
+        int maxDenominator = 0;
+        int count = 0;
+        for (Fraction f : entries) {
+            if (!f.isZero()) {
+                count++;
+                maxNumerator = Math.max(maxNumerator, f.getNumeratorBitLength());
+                maxDenominator = Math.max(maxDenominator, f.getDenominatorBitLength());
+            }
+        }
+        rowNonZeros[row] = count;
+        rowNumeratorBits[row] = maxNumerator;
+        rowDenominatorBits[row] = maxDenominator;
+    }
+
+    // EFFECTS: interchanges values[i] and values[j]
+    private static void swap(int[] values, int i, int j) {
+        int held = values[i];
+        values[i] = values[j];
+        values[j] = held;
+    }
+
+    // REQUIRES: begin has been called
+    // MODIFIES: this
+    // EFFECTS: closes the current step from the measurements of the rows
+    void endStep() {
+        if (steps == numeratorBits.length) {
+            int capacity = steps * 2;
+            numeratorBits = Arrays.copyOf(numeratorBits, capacity);
+            denominatorBits = Arrays.copyOf(denominatorBits, capacity);
+            nonZeros = Arrays.copyOf(nonZeros, capacity);
+            gcdRatios = Arrays.copyOf(gcdRatios, capacity);
+        }
+        int maxNumerator = 0;
+        int maxDenominator = 0;
+        int count = 0;
+        for (int i = 0; i < rowNonZeros.length; i++) {
+            count += rowNonZeros[i];
+            maxNumerator = Math.max(maxNumerator, rowNumeratorBits[i]);
+            maxDenominator = Math.max(maxDenominator, rowDenominatorBits[i]);
+        }
+        numeratorBits[steps] = maxNumerator;
+        denominatorBits[steps] = maxDenominator;
+        nonZeros[steps] = count;
+        gcdRatios[steps] = pendingPredicted == 0 ? 1 : (double) pendingActual / pendingPredicted;
+        steps++;
+        pendingPredicted = 0;
+        pendingActual = 0;
+    }
+
+    // EFFECTS: returns the number of pivot steps recorded
+    public int getSteps() {
+        return steps;
+    }
+
+    // REQUIRES: 0 <= step < getSteps()
+    // EFFECTS: returns the largest numerator bit length after step
+    public int getNumeratorBits(int step) {
+        return numeratorBits[step];
+    }
+
+    // REQUIRES: 0 <= step < getSteps()
+    // EFFECTS: returns the largest denominator bit length after step
+    public int getDenominatorBits(int step) {
+        return denominatorBits[step];
+    }
+
+    // REQUIRES: 0 <= step < getSteps()
+    // EFFECTS: returns the number of non-zero entries after step
+    public int getNonZeros(int step) {
+        return nonZeros[step];
+    }
+
+    // REQUIRES: 0 <= step < getSteps()
+    // EFFECTS: returns the estimated gcd reduction ratio of step, in (0, 1] for steps that
+    // updated entries and 1 for steps that did not
+    public double getEstimatedGcdReductionRatio(int step) {
+        return gcdRatios[step];
+    }
+
+    // REQUIRES: getSteps() > 0
+    // EFFECTS: returns {largest numerator bit length, largest denominator bit length} after the
+    // last step, as measured when it was closed
+    int[] getLastBitLengths() {
+        return new int[] {numeratorBits[steps - 1], denominatorBits[steps - 1]};
+    }
+
+    // EFFECTS: returns the largest numerator or denominator bit length seen in any step
+    public int getMaxBits() {
+        int max = 0;
+        for (int i = 0; i < steps; i++) {
+            max = Math.max(max, Math.max(numeratorBits[i], denominatorBits[i]));
+        }
+        return max;
+    }
+
+    // EFFECTS: returns true if some step held a numerator or denominator that does not fit in a
+    // long, meaning the elimination needed BigInteger arithmetic
+    public boolean exceedsLongRange() {
+        return getMaxBits() > 63;
+    }
+}
@@ -1,98 +1,397 @@
 package model;
 
 import java.lang.Math;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 
 // Represents a rational number (fraction) with a numerator and denominator.
-public class Fraction {
-    private long numerator;
-    private long denominator;
+// Values are held in longs while they fit, and are promoted to BigIntegers
+// only when an operation would overflow the long range. Fractions are immutable,
+// so the valueOf factories and the arithmetic methods hand out shared instances
+// for zero, one, minus one, small integers and unit fractions instead of new ones.
+public final class Fraction {
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final int DEFAULT_CACHE_LIMIT = 128;   // default largest cached integer and unit denominator
+
+    public static final Fraction ZERO = new Fraction(0, 1, true);
+    public static final Fraction ONE = new Fraction(1, 1, true);
+    public static final Fraction MINUS_ONE = new Fraction(-1, 1, true);
+
+    private static volatile Fraction[][] cache = buildCache(DEFAULT_CACHE_LIMIT);  // {integers, unit fractions}
+
+    private final long numerator;
+    private final long denominator;
+    private final BigInteger bigNumerator;      // non-null only when the value does not fit in longs
+    private final BigInteger bigDenominator;    // non-null only when the value does not fit in longs
 
     // REQUIRES: denominator != 0
     // EFFECTS: constructs a fraction with given numerator and denominator;
     // Fraction is reduced to simplest form and denominator is made positive.
     public Fraction(long numerator, long denominator) {
-        this.numerator = numerator;         // the numerator of the fraction
-        this.denominator = denominator;    // the denominator of the fraction
-        this.simplify();
+        Metrics.countFraction();
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            BigInteger[] reduced = reduce(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+            boolean small = fitsInLong(reduced[0]) && fitsInLong(reduced[1]);
+            this.numerator = small ? reduced[0].longValue() : 0;
+            this.denominator = small ? reduced[1].longValue() : 1;
+            this.bigNumerator = small ? null : reduced[0];
+            this.bigDenominator = small ? null : reduced[1];
+        } else if (numerator == 0) {
+            this.numerator = 0;
+            this.denominator = 1;
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        } else {
+            long divisor = gcd(Math.abs(numerator), Math.abs(denominator));
+            long sign = denominator < 0 ? -1 : 1;
+            this.numerator = sign * (numerator / divisor);
+            this.denominator = sign * (denominator / divisor);
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        }
+    }
+
+    // REQUIRES: numerator != null, denominator != null, denominator != 0
+    // EFFECTS: constructs a fraction with given numerator and denominator;
+    // Fraction is reduced to simplest form and denominator is made positive.
+    public Fraction(BigInteger numerator, BigInteger denominator) {
+        this(reduce(numerator, denominator));
+    }
+
+    // REQUIRES: reduced is {numerator, denominator} in lowest terms with a positive denominator
+    // EFFECTS: constructs a fraction equal to reduced, stored in longs whenever it fits
+    private Fraction(BigInteger[] reduced) {
+        boolean small = fitsInLong(reduced[0]) && fitsInLong(reduced[1]);
+        this.numerator = small ? reduced[0].longValue() : 0;
+        this.denominator = small ? reduced[1].longValue() : 1;
+        this.bigNumerator = small ? null : reduced[0];
+        this.bigDenominator = small ? null : reduced[1];
+        Metrics.countFraction();
+    }
+
+    // REQUIRES: numerator and denominator are coprime, denominator > 0
+    // EFFECTS: constructs an already reduced fraction without recomputing the gcd;
+    // throws ArithmeticException if numerator is Long.MIN_VALUE (it has no long negation)
+    private Fraction(long numerator, long denominator, boolean reduced) {
+        if (numerator == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+        Metrics.countFraction();
+    }
+
+    // EFFECTS: returns the integer n as a Fraction, shared with other callers if n is cached
+    public static Fraction valueOf(long n) {
+        Fraction[] integers = cache[0];
+        int limit = integers.length / 2;
+        if (n >= -limit && n <= limit) {
+            return integers[(int) n + limit];
+        }
+        return new Fraction(n, 1);
+    }
+
+    // EFFECTS: returns numerator / denominator in lowest terms, shared with other callers if
+    // the value is a cached integer or unit fraction; throws ArithmeticException if
+    // denominator is 0
+    public static Fraction valueOf(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("zero denominator");
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            return new Fraction(numerator, denominator);
+        }
+        if (numerator == 0) {
+            return ZERO;
+        }
+        long divisor = gcd(Math.abs(numerator), Math.abs(denominator));
+        long sign = denominator < 0 ? -1 : 1;
+        return ofReduced(sign * (numerator / divisor), sign * (denominator / divisor));
+    }
+
+    // REQUIRES: numerator != null, denominator != null
+    // EFFECTS: returns numerator / denominator in lowest terms, shared with other callers if
+    // the value is a cached integer or unit fraction; throws ArithmeticException if
+    // denominator is 0
+    public static Fraction valueOf(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("zero denominator");
+        }
+        BigInteger[] reduced = reduce(numerator, denominator);
+        if (fitsInLong(reduced[0]) && fitsInLong(reduced[1]) && !reduced[0].equals(LONG_MIN)) {
+            return ofReduced(reduced[0].longValue(), reduced[1].longValue());
+        }
+        return new Fraction(reduced);
+    }
+
+    // REQUIRES: numerator and denominator are coprime, denominator > 0
+    // EFFECTS: returns numerator / denominator, the cached instance if there is one;
+    // throws ArithmeticException if numerator is Long.MIN_VALUE
+    private static Fraction ofReduced(long numerator, long denominator) {
+        Fraction[][] current = cache;
+        int limit = current[1].length - 1;
+        if (denominator == 1 && numerator >= -limit && numerator <= limit) {
+            return current[0][(int) numerator + limit];
+        }
+        if (numerator == 1 && denominator >= 2 && denominator <= limit) {
+            return current[1][(int) denominator];
+        }
+        return new Fraction(numerator, denominator, true);
+    }
+
+    // REQUIRES: limit >= 1
+    // MODIFIES: Fraction
+    // EFFECTS: sets the largest magnitude of the cached integers and the largest denominator
+    // of the cached unit fractions 1/k; ZERO, ONE and MINUS_ONE are always cached
+    public static void setCacheLimit(int limit) {
+        cache = buildCache(limit);
+    }
+
+    // EFFECTS: returns the largest magnitude of the cached integers and unit fraction denominators
+    public static int getCacheLimit() {
+        return cache[1].length - 1;
+    }
+
+    // REQUIRES: limit >= 1
+    // EFFECTS: returns {the integers -limit..limit, the unit fractions 1/1..1/limit at index k}
+    private static Fraction[][] buildCache(int limit) {
+        Fraction[] integers = new Fraction[2 * limit + 1];
+        Fraction[] units = new Fraction[limit + 1];
+        for (int k = -limit; k <= limit; k++) {
+            integers[k + limit] = k == 0 ? ZERO : k == 1 ? ONE : k == -1 ? MINUS_ONE : new Fraction(k, 1, true);
+        }
+        units[0] = ZERO;
+        units[1] = ONE;
+        for (int k = 2; k <= limit; k++) {
+            units[k] = new Fraction(1, k, true);
+        }
+        return new Fraction[][] {integers, units};
     }
 
     // REQUIRES: f2 != null
     // EFFECTS: returns a new Fraction that is the sum of this and f2
     public Fraction add(Fraction f2) {
-        long commonDivisor = gcd(this.getDenominator(), f2.getDenominator());
-        long commonDenominator = (this.getDenominator() * f2.getDenominator()) / commonDivisor;
-        long partSumThis = this.getNumerator() * (commonDenominator / this.getDenominator());
-        long partSumF2 = f2.getNumerator() * (commonDenominator / f2.getDenominator());
-        long fullSum = partSumF2 + partSumThis;
-        return new Fraction(fullSum, commonDenominator);
+        if (!this.isBig() && !f2.isBig()) {
+            try {
+                return addSmall(this.numerator, this.denominator, f2.numerator, f2.denominator);
+            } catch (ArithmeticException e) {
+                // falls through to the BigInteger path below
+                Metrics.countPromotion();
+            }
+        }
+        BigInteger newNumerator = this.getBigNumerator().multiply(f2.getBigDenominator())
+                .add(f2.getBigNumerator().multiply(this.getBigDenominator()));
+        BigInteger newDenominator = this.getBigDenominator().multiply(f2.getBigDenominator());
+        return valueOf(newNumerator, newDenominator);
     }
 
     // REQUIRES: f2 != null
     // EFFECTS: returns a new Fraction that is the difference of this and f2
     public Fraction subtract(Fraction f2) {
-        long commonDivisor = gcd(this.getDenominator(), f2.getDenominator());
-        long commonDenominator = (this.getDenominator() * f2.getDenominator()) / commonDivisor;
-        long partDiffThis = this.getNumerator() * (commonDenominator / this.getDenominator());
-        long partDiffF2 = f2.getNumerator() * (commonDenominator / f2.getDenominator());
-        long fullDiff = partDiffThis - partDiffF2;
-        return new Fraction(fullDiff, commonDenominator);
+        return add(f2.negate());
     }
 
     // REQUIRES: f2 != null
     // EFFECTS: returns a new Fraction that is the product of this and f2
     public Fraction multiply(Fraction f2) {
-        long newNumerator = this.getNumerator() * f2.getNumerator();
-        long newDenominator = this.getDenominator() * f2.getDenominator();
-        return new Fraction(newNumerator, newDenominator);
+        if (!this.isBig() && !f2.isBig()) {
+            try {
+                return multiplySmall(this.numerator, this.denominator, f2.numerator, f2.denominator);
+            } catch (ArithmeticException e) {
+                // falls through to the BigInteger path below
+                Metrics.countPromotion();
+            }
+        }
+        BigInteger newNumerator = this.getBigNumerator().multiply(f2.getBigNumerator());
+        BigInteger newDenominator = this.getBigDenominator().multiply(f2.getBigDenominator());
+        return valueOf(newNumerator, newDenominator);
     }
 
-    // REQUIRES: f2 != null, f2.getNumerator() != 0
-    // EFFECTS: returns a new Fraction that is the quotient of this divided by f2
+    // REQUIRES: f2 != null
+    // EFFECTS: returns a new Fraction that is the quotient of this divided by f2; throws
+    // ArithmeticException if f2 is zero
     public Fraction divide(Fraction f2) {
-        long newNumerator = this.getNumerator() * f2.getDenominator();
-        long newDenominator = this.getDenominator() * f2.getNumerator();
-        return new Fraction(newNumerator, newDenominator);
+        return multiply(f2.reciprocal());
     }
 
-    // MODIFIES: this
-    // EFFECTS: simplifies the fraction (e.g. 2/4 -> 1/2) and ensures denominator is
-    // positive
-    public void simplify() {
-        if (this.numerator == 0) {
-            this.denominator = 1;
-            return;
+    // EFFECTS: returns a new Fraction that is the additive inverse of this
+    public Fraction negate() {
+        if (!isBig() && numerator != Long.MIN_VALUE) {
+            return ofReduced(-numerator, denominator);
         }
-        long divisor = gcd(Math.abs(this.numerator), Math.abs(this.denominator));
-        this.numerator /= divisor;
-        this.denominator /= divisor;
+        return new Fraction(getBigNumerator().negate(), getBigDenominator());
+    }
 
-        if (this.denominator < 0) {
-            this.numerator = -this.numerator;
-            this.denominator = -this.denominator;
+    // EFFECTS: returns a new Fraction that is the multiplicative inverse of this; throws
+    // ArithmeticException if this is zero
+    public Fraction reciprocal() {
+        if (isZero()) {
+            throw new ArithmeticException("reciprocal of zero");
+        }
+        if (!isBig() && numerator != Long.MIN_VALUE) {
+            if (numerator < 0) {
+                return ofReduced(-denominator, -numerator);
+            }
+            return ofReduced(denominator, numerator);
         }
+        return new Fraction(getBigDenominator(), getBigNumerator());
+    }
+
+    // REQUIRES: denominator != 0
+    // EFFECTS: returns {numerator, denominator} in lowest terms with a positive denominator
+    // (e.g. 2/4 -> 1/2); zero is returned as 0/1
+    private static BigInteger[] reduce(BigInteger numerator, BigInteger denominator) {
+        BigInteger num = numerator;
+        BigInteger den = denominator;
+        if (num.signum() == 0) {
+            return new BigInteger[] {BigInteger.ZERO, BigInteger.ONE};
+        }
+        Metrics.countGcd();
+        BigInteger divisor = num.gcd(den);
+        if (!divisor.equals(BigInteger.ONE)) {
+            num = num.divide(divisor);
+            den = den.divide(divisor);
+        }
+        if (den.signum() < 0) {
+            num = num.negate();
+            den = den.negate();
+        }
+        return new BigInteger[] {num, den};
+    }
+
+    // EFFECTS: returns the reduced sum n1/d1 + n2/d2; denominators must be positive and
+    // both fractions reduced. Throws ArithmeticException if any step overflows a long.
+    private static Fraction addSmall(long n1, long d1, long n2, long d2) {
+        long g = gcd(d1, d2);
+        if (g == 1) {
+            long newNumerator = Math.addExact(Math.multiplyExact(n1, d2), Math.multiplyExact(n2, d1));
+            return ofReduced(newNumerator, Math.multiplyExact(d1, d2));
+        }
+        long t = Math.addExact(Math.multiplyExact(n1, d2 / g), Math.multiplyExact(n2, d1 / g));
+        if (t == 0) {
+            return ZERO;
+        }
+        if (t == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        long g2 = gcd(Math.abs(t), g);
+        return ofReduced(t / g2, Math.multiplyExact(d1 / g, d2 / g2));
+    }
+
+    // EFFECTS: returns the reduced product (n1/d1) * (n2/d2); denominators must be positive
+    // and both fractions reduced. Throws ArithmeticException if any step overflows a long.
+    private static Fraction multiplySmall(long n1, long d1, long n2, long d2) {
+        if (n1 == 0 || n2 == 0) {
+            return ZERO;
+        }
+        long g1 = gcd(Math.abs(n1), d2);
+        long g2 = gcd(Math.abs(n2), d1);
+        long newNumerator = Math.multiplyExact(n1 / g1, n2 / g2);
+        long newDenominator = Math.multiplyExact(d1 / g2, d2 / g1);
+        return ofReduced(newNumerator, newDenominator);
     }
 
     // REQUIRES: a >= 0, b >= 0
     // EFFECTS: returns the greatest common divisor of a and b
-    private long gcd(long a, long b) {
-        if (b == 0) {
-            return a;
+    private static long gcd(long a, long b) {
+        Metrics.countGcd();
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
         }
-        return gcd(b, a % b);
+        return a;
     }
 
-    // EFFECTS: returns the numerator of this fraction
+    // EFFECTS: returns true if value lies within the range of a long and can be negated there
+    private static boolean fitsInLong(BigInteger value) {
+        return value.compareTo(LONG_MIN) > 0 && value.compareTo(LONG_MAX) <= 0;
+    }
+
+    // EFFECTS: returns true if this fraction has been promoted to BigInteger storage
+    public boolean isBig() {
+        return this.bigNumerator != null;
+    }
+
+    // EFFECTS: returns true if this fraction is equal to zero
+    public boolean isZero() {
+        return !isBig() && this.numerator == 0;
+    }
+
+    // EFFECTS: returns -1, 0 or 1 as this fraction is negative, zero or positive
+    public int signum() {
+        if (isBig()) {
+            return bigNumerator.signum();
+        }
+        return Long.signum(this.numerator);
+    }
+
+    // EFFECTS: returns the numerator of this fraction;
+    // throws ArithmeticException if the numerator does not fit in a long
     public long getNumerator() {
+        if (isBig()) {
+            return bigNumerator.longValueExact();
+        }
         return this.numerator;
     }
 
-    // EFFECTS: returns the denominator of this fraction
+    // EFFECTS: returns the denominator of this fraction;
+    // throws ArithmeticException if the denominator does not fit in a long
     public long getDenominator() {
+        if (isBig()) {
+            return bigDenominator.longValueExact();
+        }
         return this.denominator;
     }
 
+    // EFFECTS: returns the numerator of this fraction as a BigInteger
+    public BigInteger getBigNumerator() {
+        if (isBig()) {
+            return bigNumerator;
+        }
+        return BigInteger.valueOf(this.numerator);
+    }
+
+    // EFFECTS: returns the denominator of this fraction as a BigInteger
+    public BigInteger getBigDenominator() {
+        if (isBig()) {
+            return bigDenominator;
+        }
+        return BigInteger.valueOf(this.denominator);
+    }
+
+    // EFFECTS: returns the number of bits in the magnitude of the numerator
+    public int getNumeratorBitLength() {
+        if (isBig()) {
+            return bigNumerator.abs().bitLength();
+        }
+        return 64 - Long.numberOfLeadingZeros(Math.abs(this.numerator));
+    }
+
+    // EFFECTS: returns the number of bits in the denominator
+    public int getDenominatorBitLength() {
+        if (isBig()) {
+            return bigDenominator.bitLength();
+        }
+        return 64 - Long.numberOfLeadingZeros(this.denominator);
+    }
+
+    // EFFECTS: returns the height of this fraction, the bit length of the numerator's magnitude
+    // plus the bit length of the denominator; smaller heights make cheaper arithmetic
+    public int getHeight() {
+        return getNumeratorBitLength() + getDenominatorBitLength();
+    }
+
     // EFFECTS: returns the decimal value of this fraction (numerator / denominator)
     public double toDecimal() {
+        if (isBig()) {
+            return new BigDecimal(bigNumerator).divide(new BigDecimal(bigDenominator), MathContext.DECIMAL64)
+                    .doubleValue();
+        }
         double numerator = Double.valueOf(this.numerator);
         double denominator = Double.valueOf(this.denominator);
         return numerator / denominator;
@@ -101,14 +400,34 @@ public class Fraction {
     // REQUIRES: f2 != null
     // EFFECTS: returns true if this fraction and f2 represent the same rational value
     public boolean equals(Fraction f2) {
-        if (this.getNumerator() == f2.getNumerator() && this.getDenominator() == f2.getDenominator()) {
+        if (this.isBig() || f2.isBig()) {
+            return this.isBig() && f2.isBig() && this.bigNumerator.equals(f2.bigNumerator)
+                    && this.bigDenominator.equals(f2.bigDenominator);
+        }
+        if (this.numerator == f2.numerator && this.denominator == f2.denominator) {
             return true;
         }
         return false;
     }
 
+    // EFFECTS: returns true if other is a Fraction representing the same rational value
+    public boolean equals(Object other) {
+        return other instanceof Fraction && equals((Fraction) other);
+    }
+
+    // EFFECTS: returns a hash code consistent with equals
+    public int hashCode() {
+        if (isBig()) {
+            return 31 * bigNumerator.hashCode() + bigDenominator.hashCode();
+        }
+        return 31 * Long.hashCode(numerator) + Long.hashCode(denominator);
+    }
+
     // EFFECTS: returns a string representation of the fraction example "1/2"
     public String toString() {
-        return String.valueOf(this.getNumerator()) + '/' + String.valueOf(this.getDenominator());
+        if (isBig()) {
+            return bigNumerator.toString() + '/' + bigDenominator.toString();
+        }
+        return String.valueOf(this.numerator) + '/' + String.valueOf(this.denominator);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,238 @@
+package model;
+
+import java.math.BigInteger;
+
+// Represents a mutable running sum of fractions and fraction products. The sum is kept as a
+// numerator over the lcm of the denominators seen so far, in longs until an operation would
+// overflow and in BigIntegers afterwards, so accumulating creates no Fraction objects.
+// Common factors of the numerator and denominator are not cancelled after every step: the
+// long sum is reduced only when an update would otherwise overflow, and the BigInteger sum
+// only when its denominator grows past a bit threshold, or once at the end by toFraction().
+public class FractionAccumulator {
+    private static final int REDUCTION_BITS = 256;  // denominator bits that first trigger a BigInteger reduction
+
+    private long numerator;            // numerator of the running sum
+    private long denominator;          // positive denominator of the running sum
+    private BigInteger bigNumerator;   // non-null once the sum has outgrown longs
+    private BigInteger bigDenominator; // non-null once the sum has outgrown longs
+    private int reductionBits;         // denominator bit length above which the BigInteger sum is reduced
+
+    // EFFECTS: constructs an accumulator holding 0
+    public FractionAccumulator() {
+        reset();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the running sum to 0
+    public void reset() {
+        this.numerator = 0;
+        this.denominator = 1;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+        this.reductionBits = REDUCTION_BITS;
+    }
+
+    // REQUIRES: f != null
+    // MODIFIES: this
+    // EFFECTS: sets the running sum to f
+    public void set(Fraction f) {
+        reset();
+        add(f);
+    }
+
+    // REQUIRES: f != null
+    // MODIFIES: this
+    // EFFECTS: adds f to the running sum
+    public void add(Fraction f) {
+        if (f.isZero()) {
+            return;
+        }
+        if (bigNumerator == null && !f.isBig() && tryAddSmall(f.getNumerator(), f.getDenominator())) {
+            return;
+        }
+        promote();
+        addBig(f.getBigNumerator(), f.getBigDenominator());
+    }
+
+    // REQUIRES: a != null, b != null
+    // MODIFIES: this
+    // EFFECTS: adds the product a * b to the running sum
+    public void addProduct(Fraction a, Fraction b) {
+        addProduct(a, b, false);
+    }
+
+    // REQUIRES: a != null, b != null
+    // MODIFIES: this
+    // EFFECTS: subtracts the product a * b from the running sum
+    public void subtractProduct(Fraction a, Fraction b) {
+        addProduct(a, b, true);
+    }
+
+    // REQUIRES: a != null, b != null
+    // MODIFIES: this
+    // EFFECTS: adds the product a * b to the running sum, or subtracts it if negate is true
+    private void addProduct(Fraction a, Fraction b, boolean negate) {
+        if (a.isZero() || b.isZero()) {
+            return;
+        }
+        if (bigNumerator == null && !a.isBig() && !b.isBig()) {
+            try {
+                long an = a.getNumerator();
+                long ad = a.getDenominator();
+                long bn = b.getNumerator();
+                long bd = b.getDenominator();
+                long n;
+                long d;
+                if (ad == 1 && bd == 1) {
+                    n = Math.multiplyExact(an, bn);
+                    d = 1;
+                } else {
+                    long g1 = gcd(Math.abs(an), bd);
+                    long g2 = gcd(Math.abs(bn), ad);
+                    n = Math.multiplyExact(an / g1, bn / g2);
+                    d = Math.multiplyExact(ad / g2, bd / g1);
+                }
+                if (tryAddSmall(negate ? Math.negateExact(n) : n, d)) {
+                    return;
+                }
+            } catch (ArithmeticException e) {
+                // falls through to the BigInteger path below
+            }
+        }
+        promote();
+        BigInteger product = a.getBigNumerator().multiply(b.getBigNumerator());
+        addBig(negate ? product.negate() : product, a.getBigDenominator().multiply(b.getBigDenominator()));
+    }
+
+    // EFFECTS: returns true if the running sum is currently held in BigIntegers
+    boolean isBig() {
+        return bigNumerator != null;
+    }
+
+    // EFFECTS: returns the running sum as a reduced Fraction
+    public Fraction toFraction() {
+        if (bigNumerator != null) {
+            return Fraction.valueOf(bigNumerator, bigDenominator);
+        }
+        return Fraction.valueOf(numerator, denominator);
+    }
+
+    // REQUIRES: d > 0, the sum is held in longs
+    // MODIFIES: this
+    // EFFECTS: adds n/d to the long sum and returns true; if that overflows, cancels the sum's
+    // common factors and tries once more, returning false with the value unchanged if it
+    // still does not fit
+    private boolean tryAddSmall(long n, long d) {
+        try {
+            addSmall(n, d);
+            return true;
+        } catch (ArithmeticException e) {
+            // the sum may still fit once its common factors are cancelled
+        }
+        if (!reduceSmall()) {
+            return false;
+        }
+        try {
+            addSmall(n, d);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    // REQUIRES: the sum is held in longs
+    // MODIFIES: this
+    // EFFECTS: divides the numerator and denominator of the sum by their gcd; returns true if
+    // that made them smaller
+    private boolean reduceSmall() {
+        if (numerator == Long.MIN_VALUE) {
+            return false;
+        }
+        long g = numerator == 0 ? denominator : gcd(Math.abs(numerator), denominator);
+        if (g == 1) {
+            return false;
+        }
+        numerator /= g;
+        denominator /= g;
+        return true;
+    }
+
+    // REQUIRES: d > 0, the sum is held in longs
+    // MODIFIES: this
+    // EFFECTS: adds n/d to the long sum; throws ArithmeticException, leaving the sum
+    // unchanged, if any step overflows
+    private void addSmall(long n, long d) {
+        if (d == denominator) {
+            numerator = Math.addExact(numerator, n);
+            return;
+        }
+        long g = gcd(denominator, d);
+        long newNumerator = Math.addExact(Math.multiplyExact(numerator, d / g), Math.multiplyExact(n, denominator / g));
+        long newDenominator = Math.multiplyExact(denominator / g, d);
+        numerator = newNumerator;
+        denominator = newDenominator;
+    }
+
+    // REQUIRES: d > 0, the sum is held in BigIntegers
+    // MODIFIES: this
+    // EFFECTS: adds n/d to the BigInteger sum, reducing it once the denominator has grown
+    // past reductionBits
+    private void addBig(BigInteger n, BigInteger d) {
+        if (d.equals(bigDenominator)) {
+            bigNumerator = bigNumerator.add(n);
+            return;
+        }
+        Metrics.countGcd();
+        BigInteger g = bigDenominator.gcd(d);
+        bigNumerator = bigNumerator.multiply(d.divide(g)).add(n.multiply(bigDenominator.divide(g)));
+        bigDenominator = bigDenominator.divide(g).multiply(d);
+        if (bigDenominator.bitLength() > reductionBits) {
+            reduceBig();
+        }
+    }
+
+    // REQUIRES: the sum is held in BigIntegers
+    // MODIFIES: this
+    // EFFECTS: cancels the common factors of the BigInteger sum, moves it back to longs if it
+    // fits, and raises the threshold so a denominator that stays large is not reduced again
+    // until it has doubled in size
+    private void reduceBig() {
+        Metrics.countGcd();
+        BigInteger g = bigNumerator.gcd(bigDenominator);
+        if (!g.equals(BigInteger.ONE)) {
+            bigNumerator = bigNumerator.divide(g);
+            bigDenominator = bigDenominator.divide(g);
+        }
+        if (bigNumerator.bitLength() < Long.SIZE && bigDenominator.bitLength() < Long.SIZE) {
+            numerator = bigNumerator.longValue();
+            denominator = bigDenominator.longValue();
+            bigNumerator = null;
+            bigDenominator = null;
+            reductionBits = REDUCTION_BITS;
+        } else {
+            reductionBits = Math.max(REDUCTION_BITS, 2 * bigDenominator.bitLength());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the running sum to BigInteger form
+    private void promote() {
+        if (bigNumerator == null) {
+            Metrics.countPromotion();
+            bigNumerator = BigInteger.valueOf(numerator);
+            bigDenominator = BigInteger.valueOf(denominator);
+        }
+    }
+
+    // REQUIRES: a >= 0, b >= 0
+    // EFFECTS: returns the greatest common divisor of a and b
+    private static long gcd(long a, long b) {
+        Metrics.countGcd();
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import java.util.Arrays;
+
+// Stores matrix entries as a 2D array of Fraction objects; it can hold values of any size.
+class FractionArrayStorage implements MutableMatrixStorage {
+    private Fraction[][] data;   // 2D array storing matrix elements
+    private int rows;            // number of rows
+    private int cols;            // number of columns
+
+    // REQUIRES: numRows > 0, numCols > 0
+    // EFFECTS: constructs a store with given dimensions; all entries initialized to 0
+    FractionArrayStorage(int numRows, int numCols) {
+        this.rows = numRows;
+        this.cols = numCols;
+        this.data = new Fraction[numRows][numCols];
+        for (int i = 0; i < numRows; i++) {
+            Arrays.fill(data[i], Fraction.ZERO);
+        }
+    }
+
+    // REQUIRES: data != null, data is rectangular with at least one row and column
+    // EFFECTS: constructs a store that takes ownership of data
+    FractionArrayStorage(Fraction[][] data) {
+        this.rows = data.length;
+        this.cols = data[0].length;
+        this.data = data;
+    }
+
+    // REQUIRES: other != null
+    // EFFECTS: constructs a store holding the same entries as other
+    FractionArrayStorage(MatrixStorage other) {
+        this.rows = other.getNumRows();
+        this.cols = other.getNumCols();
+        this.data = new Fraction[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                data[i][j] = other.get(i, j);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of rows
+    public int getNumRows() {
+        return rows;
+    }
+
+    // EFFECTS: returns the number of columns
+    public int getNumCols() {
+        return cols;
+    }
+
+    // EFFECTS: returns the layout of this store
+    public StorageLayout getLayout() {
+        return StorageLayout.FRACTIONS;
+    }
+
+    // EFFECTS: returns the entry at [row][col]
+    public Fraction get(int row, int col) {
+        return data[row][col];
+    }
+
+    // EFFECTS: returns this store's own array for row; callers must not modify it
+    public Fraction[] getRowArray(int row) {
+        return data[row];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the entry at [row][col] to f
+    public boolean set(int row, int col, Fraction f) {
+        data[row][col] = f;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: interchanges rows r1 and r2
+    public void swapRows(int r1, int r2) {
+        Fraction[] row1 = data[r1];
+        data[r1] = data[r2];
+        data[r2] = row1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: multiplies row by scalar
+    public boolean scaleRow(int row, Fraction scalar) {
+        Fraction[] values = data[row];
+        for (int i = 0; i < cols; i++) {
+            values[i] = values[i].multiply(scalar);
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds (scalar * sourceRow) to destRow, skipping zero source entries; each entry
+    // is updated with one fused multiply-add, so only the result Fraction is created
+    public boolean addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        Fraction[] source = data[sourceRow];
+        Fraction[] dest = data[destRow];
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = 0; i < cols; i++) {
+            if (!source[i].isZero()) {
+                sum.set(dest[i]);
+                sum.addProduct(source[i], scalar);
+                dest[i] = sum.toFraction();
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns an independent copy of this store
+    public MutableMatrixStorage copy() {
+        return new FractionArrayStorage(this);
+    }
+}
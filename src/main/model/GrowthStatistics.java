@@ -0,0 +1,95 @@
+package model;
+
+// Represents how much the entries of a matrix grew while it was reduced to Reduced Row Echelon
+// Form, measured in bits of the largest numerator and denominator before, during and after.
+public class GrowthStatistics {
+    private PivotStrategy strategy;     // pivot rule used
+    private int pivots;                 // number of pivots found
+    private long rowOperations;         // row operations performed
+    private int initialNumeratorBits;   // largest numerator bit length before reducing
+    private int initialDenominatorBits; // largest denominator bit length before reducing
+    private int peakNumeratorBits;      // largest numerator bit length after any pivot step
+    private int peakDenominatorBits;    // largest denominator bit length after any pivot step
+    private int finalNumeratorBits;     // largest numerator bit length of the reduced form
+    private int finalDenominatorBits;   // largest denominator bit length of the reduced form
+
+    // EFFECTS: constructs statistics for a reduction with the given strategy whose entries
+    // start with the given largest bit lengths
+    GrowthStatistics(PivotStrategy strategy, int numeratorBits, int denominatorBits) {
+        this.strategy = strategy;
+        this.initialNumeratorBits = numeratorBits;
+        this.initialDenominatorBits = denominatorBits;
+        this.peakNumeratorBits = numeratorBits;
+        this.peakDenominatorBits = denominatorBits;
+        this.finalNumeratorBits = numeratorBits;
+        this.finalDenominatorBits = denominatorBits;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the largest bit lengths after a pivot step
+    void recordStep(int numeratorBits, int denominatorBits) {
+        pivots++;
+        peakNumeratorBits = Math.max(peakNumeratorBits, numeratorBits);
+        peakDenominatorBits = Math.max(peakDenominatorBits, denominatorBits);
+        finalNumeratorBits = numeratorBits;
+        finalDenominatorBits = denominatorBits;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the number of row operations the reduction performed
+    void setRowOperations(long rowOperations) {
+        this.rowOperations = rowOperations;
+    }
+
+    // EFFECTS: returns the pivot rule used
+    public PivotStrategy getStrategy() {
+        return strategy;
+    }
+
+    // EFFECTS: returns the number of pivots found, which is the rank
+    public int getPivots() {
+        return pivots;
+    }
+
+    // EFFECTS: returns the number of row operations performed
+    public long getRowOperations() {
+        return rowOperations;
+    }
+
+    // EFFECTS: returns the largest numerator bit length before reducing
+    public int getInitialNumeratorBits() {
+        return initialNumeratorBits;
+    }
+
+    // EFFECTS: returns the largest denominator bit length before reducing
+    public int getInitialDenominatorBits() {
+        return initialDenominatorBits;
+    }
+
+    // EFFECTS: returns the largest numerator bit length seen after any pivot step
+    public int getPeakNumeratorBits() {
+        return peakNumeratorBits;
+    }
+
+    // EFFECTS: returns the largest denominator bit length seen after any pivot step
+    public int getPeakDenominatorBits() {
+        return peakDenominatorBits;
+    }
+
+    // EFFECTS: returns the largest numerator bit length of the reduced form
+    public int getFinalNumeratorBits() {
+        return finalNumeratorBits;
+    }
+
+    // EFFECTS: returns the largest denominator bit length of the reduced form
+    public int getFinalDenominatorBits() {
+        return finalDenominatorBits;
+    }
+
+    // EFFECTS: returns the peak combined numerator and denominator bit length divided by the
+    // initial one; 1 means the entries never grew
+    public double getGrowthFactor() {
+        int initial = Math.max(1, initialNumeratorBits + initialDenominatorBits);
+        return (double) (peakNumeratorBits + peakDenominatorBits) / initial;
+    }
+}
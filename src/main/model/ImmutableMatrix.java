@@ -0,0 +1,178 @@
+package model;
+
+// Represents a matrix of Fractions whose entries never change. It can be shared by any number
+// of threads without copying or locking: the entries are reached through a final field, so
+// they are visible to every thread that sees the snapshot, and every operation returns a new
+// result instead of modifying this one. Derived results (factorization, determinant, rank,
+// reduced form) are computed on first use and published through volatile fields; two threads
+// racing to compute one compute the same value, so either result may be kept.
+public final class ImmutableMatrix {
+    private final MatrixStorage storage;    // entries; never modified
+    private final int rows;                 // number of rows
+    private final int cols;                 // number of columns
+    private volatile LUDecomposition factorization;  // cached factorization, or null
+    private volatile Fraction determinant;           // cached determinant, or null
+    private volatile ImmutableMatrix reducedForm;    // cached Reduced Row Echelon Form, or null
+    private volatile SubspaceAnalysis analysis;      // cached subspace bases, or null
+    private volatile int rank;                       // cached rank, or -1 if unknown
+
+    // REQUIRES: storage != null, storage is never modified after this call
+    // EFFECTS: constructs a snapshot whose entries are those of storage
+    ImmutableMatrix(MatrixStorage storage) {
+        this.storage = storage;
+        this.rows = storage.getNumRows();
+        this.cols = storage.getNumCols();
+        this.rank = -1;
+    }
+
+    // EFFECTS: returns a Matrix reading this snapshot's entries, for use by the calling thread
+    // only; it copies the entries before it is changed
+    private Matrix matrix() {
+        return Matrix.sharing(storage);
+    }
+
+    // EFFECTS: returns number of rows in this matrix
+    public int getNumRows() {
+        return rows;
+    }
+
+    // EFFECTS: returns number of columns in this matrix
+    public int getNumCols() {
+        return cols;
+    }
+
+    // REQUIRES: row >= 0, row < getNumRows(), col >= 0, col < getNumCols()
+    // EFFECTS: returns the Fraction at [row][col]
+    public Fraction getElement(int row, int col) {
+        return storage.get(row, col);
+    }
+
+    // EFFECTS: returns the layout used to store this matrix's entries
+    public StorageLayout getStorageLayout() {
+        return storage.getLayout();
+    }
+
+    // EFFECTS: returns true if number of rows equals number of columns
+    public boolean isSquare() {
+        return rows == cols;
+    }
+
+    // REQUIRES: rowIndex >= 0, rowIndex < getNumRows()
+    // EFFECTS: returns the row at rowIndex as a Vector that reads this matrix's entries
+    public Vector getRowVector(int rowIndex) {
+        return Vector.wrap(storage.getRowArray(rowIndex));
+    }
+
+    // REQUIRES: colIndex >= 0, colIndex < getNumCols()
+    // EFFECTS: returns the column at colIndex as a Vector that reads this matrix's entries
+    public Vector getColumnVector(int colIndex) {
+        return new Vector(storage, colIndex);
+    }
+
+    // EFFECTS: returns a Matrix holding this matrix's entries that may be changed freely;
+    // it shares the entries with this snapshot until its first change
+    public Matrix toMatrix() {
+        return matrix();
+    }
+
+    // REQUIRES: m2 != null, getNumRows() == m2.getNumRows(), getNumCols() == m2.getNumCols()
+    // EFFECTS: returns the sum of this and m2
+    public ImmutableMatrix add(ImmutableMatrix m2) {
+        return matrix().add(m2.matrix()).freeze();
+    }
+
+    // REQUIRES: m2 != null, getNumCols() == m2.getNumRows()
+    // EFFECTS: returns the product (this * m2)
+    public ImmutableMatrix multiply(ImmutableMatrix m2) {
+        return matrix().multiply(m2.matrix()).freeze();
+    }
+
+    // REQUIRES: v != null, getNumCols() == v.size()
+    // EFFECTS: returns the result of the transformation (this * v)
+    public Vector multiplyVector(Vector v) {
+        return matrix().multiplyVector(v);
+    }
+
+    // EFFECTS: returns the transpose (A^T), sharing this matrix's entries
+    public ImmutableMatrix transpose() {
+        return new ImmutableMatrix(new StorageView(storage, 0, 0, cols, rows, true));
+    }
+
+    // REQUIRES: 0 <= firstRow, 0 <= firstCol, numRows > 0, numCols > 0,
+    // firstRow + numRows <= getNumRows(), firstCol + numCols <= getNumCols()
+    // EFFECTS: returns the numRows x numCols block whose top-left entry is [firstRow][firstCol],
+    // sharing this matrix's entries
+    public ImmutableMatrix subMatrix(int firstRow, int firstCol, int numRows, int numCols) {
+        return new ImmutableMatrix(new StorageView(storage, firstRow, firstCol, numRows, numCols, false));
+    }
+
+    // EFFECTS: returns the exact LU factorization of this matrix, computed once
+    public LUDecomposition factorize() {
+        LUDecomposition lu = factorization;
+        if (lu == null) {
+            lu = new LUDecomposition(matrix());
+            factorization = lu;
+        }
+        return lu;
+    }
+
+    // REQUIRES: b != null, b.size() == getNumRows()
+    // EFFECTS: returns the unique solution vector x for Ax=b, or null if the system is
+    // inconsistent or has infinite solutions
+    public Vector solve(Vector b) {
+        return factorize().solve(b);
+    }
+
+    // REQUIRES: bs != null, every bs[k].size() == getNumRows()
+    // EFFECTS: solves Ax=b for every b in bs with the cached factorization
+    public SolutionSet solveAll(Vector[] bs) {
+        return factorize().solveAll(bs);
+    }
+
+    // REQUIRES: isSquare() == true
+    // EFFECTS: returns the determinant of this matrix, computed once
+    public Fraction getDeterminant() {
+        Fraction det = determinant;
+        if (det == null) {
+            det = matrix().getDeterminant();
+            determinant = det;
+        }
+        return det;
+    }
+
+    // EFFECTS: returns the rank of this matrix, computed once
+    public int getRank() {
+        int r = rank;
+        if (r < 0) {
+            r = matrix().getRank();
+            rank = r;
+        }
+        return r;
+    }
+
+    // EFFECTS: returns the Reduced Row Echelon Form of this matrix, computed once
+    public ImmutableMatrix getReducedForm() {
+        ImmutableMatrix reduced = reducedForm;
+        if (reduced == null) {
+            reduced = matrix().getReducedForm().freeze();
+            reducedForm = reduced;
+        }
+        return reduced;
+    }
+
+    // EFFECTS: returns the rank, pivot columns and subspace bases of this matrix, computed once
+    public SubspaceAnalysis analyze() {
+        SubspaceAnalysis result = analysis;
+        if (result == null) {
+            result = matrix().analyze();
+            analysis = result;
+        }
+        return result;
+    }
+
+    // REQUIRES: isSquare() == true
+    // EFFECTS: returns the trace of this matrix
+    public Fraction getTrace() {
+        return matrix().getTrace();
+    }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import java.math.BigInteger;
+
+// Represents the integer matrix obtained from a rational matrix by multiplying each row by the
+// lcm of its denominators, together with the product of those row multipliers.
+class IntegerMatrix {
+    private BigInteger[][] entries;   // integer entries, row-major
+    private long[][] smallEntries;    // the same entries as longs, or null if any does not fit
+    private BigInteger scaleProduct;  // product of the per-row multipliers
+    private int numRows;              // number of rows
+    private int numCols;              // number of columns
+
+    // REQUIRES: storage != null
+    // EFFECTS: clears the denominators of every row of storage
+    IntegerMatrix(MatrixStorage storage) {
+        this.numRows = storage.getNumRows();
+        this.numCols = storage.getNumCols();
+        Fraction[] row = new Fraction[numCols];
+        this.entries = new BigInteger[numRows][numCols];
+        this.scaleProduct = BigInteger.ONE;
+        boolean allSmall = true;
+        for (int i = 0; i < numRows; i++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (int j = 0; j < numCols; j++) {
+                row[j] = storage.get(i, j);
+                BigInteger den = row[j].getBigDenominator();
+                if (!den.equals(BigInteger.ONE)) {
+                    lcm = lcm.divide(lcm.gcd(den)).multiply(den);
+                }
+            }
+            for (int j = 0; j < numCols; j++) {
+                Fraction f = row[j];
+                entries[i][j] = f.getBigNumerator().multiply(lcm.divide(f.getBigDenominator()));
+                allSmall = allSmall && entries[i][j].bitLength() < 64;
+            }
+            scaleProduct = scaleProduct.multiply(lcm);
+        }
+        if (allSmall) {
+            smallEntries = new long[numRows][numCols];
+            for (int i = 0; i < numRows; i++) {
+                for (int j = 0; j < numCols; j++) {
+                    smallEntries[i][j] = entries[i][j].longValue();
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns a fresh copy of the integer entries
+    BigInteger[][] copyEntries() {
+        BigInteger[][] copy = new BigInteger[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            copy[i] = entries[i].clone();
+        }
+        return copy;
+    }
+
+    // REQUIRES: field != null
+    // EFFECTS: returns the entries reduced modulo the field's prime, in Montgomery form
+    long[][] residues(PrimeField field) {
+        long[][] result = new long[numRows][numCols];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                long r = smallEntries != null ? field.reduce(smallEntries[i][j]) : field.reduce(entries[i][j]);
+                result[i][j] = field.toMontgomery(r);
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns an upper bound on the bit length of the absolute value of any maximal
+    // minor, using the smaller of the row-wise and column-wise Hadamard bounds
+    int hadamardBoundBits() {
+        long rowBits = 0;
+        for (int i = 0; i < numRows; i++) {
+            BigInteger normSquared = BigInteger.ZERO;
+            for (int j = 0; j < numCols; j++) {
+                normSquared = normSquared.add(entries[i][j].multiply(entries[i][j]));
+            }
+            rowBits += (normSquared.bitLength() + 1) / 2;
+        }
+        long colBits = 0;
+        for (int j = 0; j < numCols; j++) {
+            BigInteger normSquared = BigInteger.ZERO;
+            for (int i = 0; i < numRows; i++) {
+                normSquared = normSquared.add(entries[i][j].multiply(entries[i][j]));
+            }
+            colBits += (normSquared.bitLength() + 1) / 2;
+        }
+        return (int) Math.min(rowBits, colBits);
+    }
+
+    // EFFECTS: returns the product of the per-row multipliers used to clear denominators
+    BigInteger getScaleProduct() {
+        return scaleProduct;
+    }
+
+    // EFFECTS: returns the number of rows
+    int getNumRows() {
+        return numRows;
+    }
+
+    // EFFECTS: returns the number of columns
+    int getNumCols() {
+        return numCols;
+    }
+}
@@ -0,0 +1,252 @@
+package model;
+
+// Represents an exact LU factorization P * A = L * U of a matrix A, where P is a row
+// permutation, L is unit lower triangular and U is in row echelon form. Once computed it
+// solves A x = b for any number of right-hand sides by forward and back substitution, and
+// reports the determinant and rank without further elimination.
+public class LUDecomposition {
+    private Fraction[][] lower;     // multipliers of L below the diagonal (n x n, unit diagonal implied)
+    private Fraction[][] upper;     // U, row echelon form of P * A (n x m)
+    private int[] permutation;      // row i of P * A is row permutation[i] of A
+    private int[] pivotColumns;     // pivot column of each of the first rank rows of U
+    private int rank;               // number of pivots
+    private int swaps;              // number of row interchanges performed
+    private int rows;               // number of rows of A
+    private int cols;               // number of columns of A
+
+    // REQUIRES: m != null
+    // EFFECTS: factors m; m itself is not modified
+    public LUDecomposition(Matrix m) {
+        this(m, null);
+    }
+
+    // REQUIRES: m != null
+    // MODIFIES: trace
+    // EFFECTS: factors m, appending the entry sizes, non-zero count and estimated gcd reduction
+    // ratio of U after every pivot step to trace unless it is null; m itself is not modified
+    public LUDecomposition(Matrix m, EliminationTrace trace) {
+        this.rows = m.getNumRows();
+        this.cols = m.getNumCols();
+        this.upper = new Fraction[rows][cols];
+        this.lower = new Fraction[rows][rows];
+        this.permutation = new int[rows];
+        this.pivotColumns = new int[Math.min(rows, cols)];
+        Fraction zero = Fraction.ZERO;
+        for (int i = 0; i < rows; i++) {
+            permutation[i] = i;
+            for (int j = 0; j < cols; j++) {
+                upper[i][j] = m.getElement(i, j);
+            }
+            for (int j = 0; j < rows; j++) {
+                lower[i][j] = zero;
+            }
+        }
+        factor(trace);
+    }
+
+    // MODIFIES: this, trace
+    // EFFECTS: eliminates below each pivot, recording multipliers in lower and the growth of
+    // each step in trace unless it is null
+    private void factor(EliminationTrace trace) {
+        if (trace != null) {
+            trace.begin(upper);
+        }
+        int r = 0;
+        for (int c = 0; c < cols && r < rows; c++) {
+            int p = r;
+            while (p < rows && upper[p][c].isZero()) {
+                p++;
+            }
+            if (p == rows) {
+                continue;
+            }
+            if (p != r) {
+                swap(p, r);
+                if (trace != null) {
+                    trace.swapRows(p, r);
+                }
+            }
+            Fraction pivot = upper[r][c];
+            FractionAccumulator sum = new FractionAccumulator();
+            for (int i = r + 1; i < rows; i++) {
+                if (upper[i][c].isZero()) {
+                    continue;
+                }
+                Fraction multiplier = upper[i][c].divide(pivot);
+                lower[i][r] = multiplier;
+                upper[i][c] = Fraction.ZERO;
+                for (int j = c + 1; j < cols; j++) {
+                    if (!upper[r][j].isZero()) {
+                        long predicted = trace == null ? 0
+                                : EliminationTrace.unreducedHeight(upper[i][j], multiplier, upper[r][j]);
+                        sum.set(upper[i][j]);
+                        sum.subtractProduct(multiplier, upper[r][j]);
+                        upper[i][j] = sum.toFraction();
+                        if (trace != null) {
+                            trace.recordUpdate(predicted, upper[i][j].getHeight());
+                        }
+                    }
+                }
+                if (trace != null) {
+                    trace.measureRow(i, upper[i]);
+                }
+            }
+            if (trace != null) {
+                trace.endStep();
+            }
+            pivotColumns[r] = c;
+            r++;
+        }
+        rank = r;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: interchanges rows r1 and r2 of U, of the computed part of L and of the permutation
+    private void swap(int r1, int r2) {
+        Fraction[] temp = upper[r1];
+        upper[r1] = upper[r2];
+        upper[r2] = temp;
+        temp = lower[r1];
+        lower[r1] = lower[r2];
+        lower[r2] = temp;
+        int t = permutation[r1];
+        permutation[r1] = permutation[r2];
+        permutation[r2] = t;
+        swaps++;
+    }
+
+    // REQUIRES: b != null, b.size() == number of rows of the factored matrix
+    // EFFECTS: returns the unique solution x of A x = b, or null if the system is
+    // inconsistent or has infinitely many solutions
+    public Vector solve(Vector b) {
+        if (rank < cols) {
+            return null;
+        }
+        Fraction[] y = forwardSubstitute(b);
+        return isConsistent(y) ? new Vector(backSubstitute(y)) : null;
+    }
+
+    // REQUIRES: bs != null, every bs[k].size() == number of rows of the factored matrix
+    // EFFECTS: solves A x = bs[k] for every k, classifying each right-hand side separately
+    public SolutionSet solveAll(Vector[] bs) {
+        SolutionStatus[] statuses = new SolutionStatus[bs.length];
+        Vector[] solutions = new Vector[bs.length];
+        for (int k = 0; k < bs.length; k++) {
+            Fraction[] y = forwardSubstitute(bs[k]);
+            if (!isConsistent(y)) {
+                statuses[k] = SolutionStatus.INCONSISTENT;
+            } else if (rank < cols) {
+                statuses[k] = SolutionStatus.UNDERDETERMINED;
+            } else {
+                statuses[k] = SolutionStatus.UNIQUE;
+                solutions[k] = new Vector(backSubstitute(y));
+            }
+        }
+        return new SolutionSet(statuses, solutions, cols);
+    }
+
+    // REQUIRES: b.size() == rows
+    // EFFECTS: returns y with L y = P b
+    private Fraction[] forwardSubstitute(Vector b) {
+        Fraction[] y = new Fraction[rows];
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = 0; i < rows; i++) {
+            sum.reset();
+            sum.add(b.getComponent(permutation[i]));
+            for (int k = 0; k < Math.min(i, rank); k++) {
+                if (!lower[i][k].isZero()) {
+                    sum.subtractProduct(lower[i][k], y[k]);
+                }
+            }
+            y[i] = sum.toFraction();
+        }
+        return y;
+    }
+
+    // EFFECTS: returns true if the entries of y past the last pivot row are all zero, that is,
+    // if U x = y has a solution
+    private boolean isConsistent(Fraction[] y) {
+        for (int i = rank; i < rows; i++) {
+            if (!y[i].isZero()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // REQUIRES: rank == cols, isConsistent(y)
+    // EFFECTS: returns the x with U x = y
+    private Fraction[] backSubstitute(Fraction[] y) {
+        Fraction[] x = new Fraction[cols];
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = cols - 1; i >= 0; i--) {
+            sum.reset();
+            sum.add(y[i]);
+            for (int j = i + 1; j < cols; j++) {
+                if (!upper[i][j].isZero()) {
+                    sum.subtractProduct(upper[i][j], x[j]);
+                }
+            }
+            x[i] = sum.toFraction().divide(upper[i][i]);
+        }
+        return x;
+    }
+
+    // REQUIRES: the factored matrix is square
+    // EFFECTS: returns the determinant of the factored matrix
+    public Fraction getDeterminant() {
+        if (rank < rows) {
+            return Fraction.ZERO;
+        }
+        Fraction det = swaps % 2 == 0 ? Fraction.ONE : Fraction.MINUS_ONE;
+        for (int i = 0; i < rows; i++) {
+            det = det.multiply(upper[i][i]);
+        }
+        return det;
+    }
+
+    // EFFECTS: returns the rank of the factored matrix
+    public int getRank() {
+        return rank;
+    }
+
+    // EFFECTS: returns true if the factored matrix is square with full rank
+    public boolean isNonSingular() {
+        return rows == cols && rank == rows;
+    }
+
+    // EFFECTS: returns the pivot column of each of the first getRank() rows of U
+    public int[] getPivotColumns() {
+        int[] result = new int[rank];
+        System.arraycopy(pivotColumns, 0, result, 0, rank);
+        return result;
+    }
+
+    // EFFECTS: returns the row permutation; row i of P * A is row getPermutation()[i] of A
+    public int[] getPermutation() {
+        return permutation.clone();
+    }
+
+    // EFFECTS: returns L, the unit lower triangular factor
+    public Matrix getL() {
+        Matrix l = new Matrix(rows, rows);
+        for (int i = 0; i < rows; i++) {
+            l.setElement(i, i, Fraction.ONE);
+            for (int j = 0; j < i; j++) {
+                l.setElement(i, j, lower[i][j]);
+            }
+        }
+        return l;
+    }
+
+    // EFFECTS: returns U, the row echelon factor
+    public Matrix getU() {
+        Matrix u = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                u.setElement(i, j, upper[i][j]);
+            }
+        }
+        return u;
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Represents a log that passes each row operation to a callback as soon as it is performed and
+// keeps nothing itself.
+public class ListenerLog implements LogSink {
+    private Consumer<LogElement> listener;   // receives each operation
+
+    // REQUIRES: listener != null
+    // EFFECTS: constructs a log that hands every operation to listener
+    public ListenerLog(Consumer<LogElement> listener) {
+        this.listener = listener;
+    }
+
+    // EFFECTS: passes an interchange of rows r1 and r2 to the listener
+    public void swapRows(int r1, int r2) {
+        listener.accept(new SwapRow(r1, r2));
+    }
+
+    // EFFECTS: passes the scaling of row by scalar to the listener
+    public void scaleRow(int row, Fraction scalar) {
+        listener.accept(new ScaleRow(row, scalar));
+    }
+
+    // EFFECTS: passes the addition of (scalar * sourceRow) to destRow to the listener
+    public void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        listener.accept(new AddRowMultiple(sourceRow, destRow, scalar));
+    }
+
+    // EFFECTS: returns an empty list; operations are not kept
+    public List<LogElement> getRetained() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,24 @@
+package model;
+
+import java.util.List;
+
+// Receives the row operations a Matrix performs, in order, as they happen. Sinks decide what to
+// keep: everything, a bounded window, or nothing at all when operations are passed straight on.
+public interface LogSink {
+
+    // MODIFIES: this
+    // EFFECTS: receives an interchange of rows r1 and r2
+    void swapRows(int r1, int r2);
+
+    // MODIFIES: this
+    // EFFECTS: receives the scaling of row by scalar
+    void scaleRow(int row, Fraction scalar);
+
+    // MODIFIES: this
+    // EFFECTS: receives the addition of (scalar * sourceRow) to destRow
+    void addRowMultiple(int sourceRow, int destRow, Fraction scalar);
+
+    // EFFECTS: returns the operations this sink still holds, oldest first; sinks that pass
+    // operations on without keeping them return an empty list
+    List<LogElement> getRetained();
+}
@@ -1,27 +1,72 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 // Represents a matrix of Fractions with defined rows and columns and a log of operations
 public class Matrix {
-    private Fraction[][] data;       // 2D array storing matrix elements
+    private static final int PARALLEL_MIN_CELLS = 1 << 12;  // cells a pivot step must update to run in parallel
+
+    private MatrixStorage storage;   // backing store of matrix elements
+    private MutableMatrixStorage ownStorage;  // storage if no other Matrix or snapshot reads it, or null
     private int rows;                // number of rows
     private int cols;                // number of columns
-    private List<LogElement> log;    // history of row operations performed
+    private LogSink log;             // receives the row operations performed
+    private boolean logging;         // true if row operations are passed to log
+    private LUDecomposition factorization;  // cached factorization; null until computed or after a change
+    private Matrix reducedForm;      // cached Reduced Row Echelon Form, or null
+    private int[] pivotColumns;      // cached pivot columns of the reduced form, or null
+    private EliminationPlan plan;    // cached row operations producing the reduced form, or null
+    private int[] pivotRows;         // cached rows the reduction pivoted on, in increasing order, or null
+    private SubspaceAnalysis analysis;  // cached subspace bases, or null
+    private int rank;                // cached rank, or -1 if unknown
+    private Fraction determinant;    // cached determinant, or null
 
     // REQUIRES: numRows > 0, numCols > 0
     // MODIFIES: this
     // EFFECTS: constructs a matrix with given dimensions; all entries initialized to 0
     public Matrix(int numRows, int numCols) {
-        this.rows = numRows;
-        this.cols = numCols;
-        this.log = new ArrayList<LogElement>();
-        this.data = new Fraction[numRows][numCols];
-        for (int i = 0; i < numRows; i++) {
-            for (int j = 0; j < numCols; j++) {
-                setElement(i, j, new Fraction(0, 1));
-            }
+        this(numRows, numCols, StorageLayout.FRACTIONS);
+    }
+
+    // REQUIRES: numRows > 0, numCols > 0, layout != null
+    // MODIFIES: this
+    // EFFECTS: constructs a matrix with given dimensions whose entries are stored using layout;
+    // all entries initialized to 0. A packed matrix moves to FRACTIONS storage on its own
+    // once an entry outgrows the long range.
+    public Matrix(int numRows, int numCols, StorageLayout layout) {
+        this(createStorage(numRows, numCols, layout));
+    }
+
+    // REQUIRES: storage != null, storage is read by no other Matrix or snapshot
+    // EFFECTS: constructs a matrix that owns storage, with an empty log
+    private Matrix(MutableMatrixStorage storage) {
+        this(storage, storage);
+    }
+
+    // REQUIRES: storage != null, ownStorage is storage or null
+    // EFFECTS: constructs a matrix backed by storage with an empty log; it changes ownStorage
+    // in place, or copies storage before its first change if ownStorage is null
+    private Matrix(MatrixStorage storage, MutableMatrixStorage ownStorage) {
+        this.rows = storage.getNumRows();
+        this.cols = storage.getNumCols();
+        this.log = new OperationLog();
+        this.logging = true;
+        this.storage = storage;
+        this.ownStorage = ownStorage;
+        this.rank = -1;
+    }
+
+    // EFFECTS: returns an all-zero store of the given dimensions and layout
+    private static MutableMatrixStorage createStorage(int numRows, int numCols, StorageLayout layout) {
+        switch (layout) {
+            case PACKED:
+                return new PackedStorage(numRows, numCols, false);
+            case PACKED_ROW_DENOMINATOR:
+                return new PackedStorage(numRows, numCols, true);
+            default:
+                return new FractionArrayStorage(numRows, numCols);
         }
     }
 
@@ -29,19 +74,61 @@ public class Matrix {
     // MODIFIES: this
     // EFFECTS: sets the element at [row][col] to f
     public void setElement(int row, int col, Fraction f) {
-        data[row][col] = f;
+        invalidateCaches();
+        if (!ensureOwnStorage().set(row, col, f)) {
+            inflateStorage();
+            ensureOwnStorage().set(row, col, f);
+        }
     }
 
     // REQUIRES: row >= 0, row < getNumRows(), col >= 0, col < getNumCols()
     // EFFECTS: returns the Fraction at [row][col]
     public Fraction getElement(int row, int col) {
-        return data[row][col];
+        return storage.get(row, col);
+    }
+
+    // EFFECTS: returns the layout currently used to store this matrix's entries
+    public StorageLayout getStorageLayout() {
+        return storage.getLayout();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the entries into FRACTIONS storage, which can hold values of any size
+    private void inflateStorage() {
+        Metrics.countPromotion();
+        ownStorage = new FractionArrayStorage(storage);
+        storage = ownStorage;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns storage to be changed in place, first replacing it with a private copy
+    // if it may be read elsewhere, so that views and copies sharing it do not see the change
+    // about to be made; this is the only way the entries of a Matrix are changed
+    private MutableMatrixStorage ensureOwnStorage() {
+        if (ownStorage == null) {
+            ownStorage = storage.copy();
+            storage = ownStorage;
+        }
+        return ownStorage;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: discards results derived from the current entries
+    private void invalidateCaches() {
+        factorization = null;
+        reducedForm = null;
+        pivotColumns = null;
+        plan = null;
+        pivotRows = null;
+        analysis = null;
+        rank = -1;
+        determinant = null;
     }
 
     // REQUIRES: m2 != null, getNumRows() == m2.getNumRows(), getNumCols() == m2.getNumCols()
     // EFFECTS: returns a new Matrix that is the sum of this and m2
     public Matrix add(Matrix m2) {
-        Matrix m3 = new Matrix(getNumRows(), getNumCols());
+        Matrix m3 = new Matrix(getNumRows(), getNumCols(), getStorageLayout());
         for (int i = 0; i < getNumRows(); i++) {
             for (int j = 0; j < getNumCols(); j++) {
                 Fraction sum = getElement(i, j).add(m2.getElement(i, j));
@@ -54,16 +141,37 @@ public class Matrix {
     // REQUIRES: m2 != null, getNumCols() == m2.getNumRows()
     // EFFECTS: returns a new Matrix that is the product (this * m2)
     public Matrix multiply(Matrix m2) {
-        Matrix m3 = new Matrix(getNumRows(), m2.getNumCols());
-        for (int i = 0; i < m3.getNumRows(); i++) {
-            Vector aik = this.getRowVector(i);
-            for (int j = 0; j < m3.getNumCols(); j++) {
-                Vector bkj = m2.getColumnVector(j);
-                Fraction product = aik.dot(bkj);
-                m3.setElement(i, j, product);
-            }
-        }
-        return m3;
+        return multiply(m2, false);
+    }
+
+    // REQUIRES: m2 != null, getNumCols() == m2.getNumRows()
+    // EFFECTS: returns a new Matrix that is the product (this * m2), computing blocks of rows
+    // concurrently on the common ForkJoinPool when the product is large enough
+    public Matrix multiplyParallel(Matrix m2) {
+        return multiply(m2, true);
+    }
+
+    // REQUIRES: m2 != null, getNumCols() == m2.getNumRows()
+    // EFFECTS: returns the product (this * m2), switching to Strassen-Winograd once every
+    // dimension exceeds the Strassen cutoff; runs in parallel if requested
+    private Matrix multiply(Matrix m2, boolean parallel) {
+        long start = Metrics.startTimer();
+        Fraction[][] product = StrassenMultiplier.multiply(rowArrays(), m2.rowArrays(), rows, cols, m2.cols, parallel);
+        Matrix result = fromRows(product, getStorageLayout());
+        Metrics.stopTimer(parallel ? "multiplyParallel" : "multiply", start, rows, cols);
+        return result;
+    }
+
+    // REQUIRES: cutoff >= 1
+    // EFFECTS: sets the size above which multiply() uses Strassen-Winograd; a product uses it
+    // only when all of its dimensions exceed the cutoff
+    public static void setStrassenCutoff(int cutoff) {
+        StrassenMultiplier.setCutoff(cutoff);
+    }
+
+    // EFFECTS: returns the size above which multiply() uses Strassen-Winograd
+    public static int getStrassenCutoff() {
+        return StrassenMultiplier.getCutoff();
     }
 
     // REQUIRES: v != null, getNumCols() == v.size()
@@ -71,116 +179,263 @@ public class Matrix {
     public Vector multiplyVector(Vector v) {
         Fraction[] resultComponents = new Fraction[this.rows];
         for (int i = 0; i < this.rows; i++) {
-            Vector rowVec = this.getRowVector(i);
+            Vector rowVec = Vector.wrap(storage.getRowArray(i));
             resultComponents[i] = rowVec.dot(v);
         }
-        return new Vector(resultComponents);
+        return Vector.wrap(resultComponents);
     }
 
-    // EFFECTS: returns a new Matrix that is the transpose (A^T)
+    // EFFECTS: returns a new Matrix that is the transpose (A^T); it shares this matrix's
+    // entries until either one is changed
     public Matrix transpose() {
-        Matrix m2 = new Matrix(cols, rows);
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                Fraction current = getElement(i, j);
-                m2.setElement(j, i, current);
-            }
-        }
-        return m2;
+        return share(new StorageView(storage, 0, 0, cols, rows, true));
+    }
+
+    // REQUIRES: 0 <= firstRow, 0 <= firstCol, numRows > 0, numCols > 0,
+    // firstRow + numRows <= getNumRows(), firstCol + numCols <= getNumCols()
+    // EFFECTS: returns a new Matrix holding the numRows x numCols block of this matrix whose
+    // top-left entry is [firstRow][firstCol]; it shares this matrix's entries until either
+    // one is changed
+    public Matrix subMatrix(int firstRow, int firstCol, int numRows, int numCols) {
+        return share(new StorageView(storage, firstRow, firstCol, numRows, numCols, false));
+    }
+
+    // REQUIRES: view reads only this matrix's storage
+    // MODIFIES: this
+    // EFFECTS: returns a new Matrix backed by view; this and the result copy their storage
+    // before their next change
+    private Matrix share(MatrixStorage view) {
+        ownStorage = null;
+        return sharing(view);
     }
 
     // MODIFIES: this
     // EFFECTS: transforms matrix into Reduced Row Echelon Form
     // records operations in log
     public void calculaterref() {
-        Fraction one = new Fraction(1, 1);
+        long start = Metrics.startTimer();
+        long operations = reduce(false, PivotStrategy.LARGEST_MAGNITUDE, null, null, null);
+        Metrics.stopTimer("calculaterref", start, rows, cols, operations);
+    }
+
+    // REQUIRES: strategy != null
+    // MODIFIES: this
+    // EFFECTS: transforms matrix into Reduced Row Echelon Form, choosing pivots by strategy;
+    // records operations in log and returns how much the entries grew along the way
+    public GrowthStatistics calculaterref(PivotStrategy strategy) {
+        return calculaterref(strategy, null);
+    }
+
+    // REQUIRES: strategy != null
+    // MODIFIES: this, trace
+    // EFFECTS: transforms matrix into Reduced Row Echelon Form, choosing pivots by strategy;
+    // appends the entry sizes, non-zero count and estimated gcd reduction ratio of every pivot
+    // step to trace unless it is null; records operations in log and returns how much the
+    // entries grew
+    public GrowthStatistics calculaterref(PivotStrategy strategy, EliminationTrace trace) {
+        long start = Metrics.startTimer();
+        int[] bits = maxBitLengths();
+        GrowthStatistics statistics = new GrowthStatistics(strategy, bits[0], bits[1]);
+        long operations = reduce(false, strategy, statistics, trace, startingRows());
+        statistics.setRowOperations(operations);
+        Metrics.stopTimer("calculaterref", start, rows, cols, operations);
+        return statistics;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: transforms matrix into Reduced Row Echelon Form, distributing the row updates
+    // of each pivot step across the common ForkJoinPool when the step is large enough;
+    // records the same operations in the same order as calculaterref()
+    public void calculaterrefParallel() {
+        long start = Metrics.startTimer();
+        long operations = reduce(true, PivotStrategy.LARGEST_MAGNITUDE, null, null, null);
+        Metrics.stopTimer("calculaterrefParallel", start, rows, cols, operations);
+    }
+
+    // REQUIRES: origins != null if strategy is ORIGINAL_ROW_ORDER; otherwise origins is null
+    // or holds a row index for every row
+    // MODIFIES: this, statistics, trace, origins
+    // EFFECTS: transforms matrix into Reduced Row Echelon Form, choosing pivots by strategy and
+    // updating rows in parallel if parallel is true; records the entry sizes after each pivot
+    // step in statistics and trace unless they are null; moves the entries of origins along
+    // with the rows they belong to unless it is null; records operations in log and returns
+    // how many were performed
+    private long reduce(boolean parallel, PivotStrategy strategy, GrowthStatistics statistics,
+                        EliminationTrace trace, int[] origins) {
+        invalidateCaches();
+        ensureOwnStorage();
+        Fraction one = Fraction.ONE;
+        if (trace != null) {
+            trace.begin(rowArrays());
+        }
 
         int currentRow = 0;
+        long operations = 0;
 
         for (int j = 0; j < cols && currentRow < rows; j++) {
-            int pivotRow = findPivotRow(j, currentRow);
+            int pivotRow = findPivotRow(j, currentRow, strategy, origins);
             Fraction pivotValue = getElement(pivotRow, j);
 
-            if (pivotValue.getNumerator() == 0) {
+            if (pivotValue.isZero()) {
                 continue;
             }
             if (pivotRow != currentRow) {
                 swapRows(pivotRow, currentRow);
+                if (origins != null) {
+                    int origin = origins[pivotRow];
+                    origins[pivotRow] = origins[currentRow];
+                    origins[currentRow] = origin;
+                }
+                if (trace != null) {
+                    trace.swapRows(pivotRow, currentRow);
+                }
+                operations++;
             }
 
             if (!pivotValue.equals(one)) {
-                Fraction scalar = one.divide(pivotValue);
+                Fraction scalar = pivotValue.reciprocal();
                 scaleRow(currentRow, scalar);
+                operations++;
             }
-            elimanateColumn(j, currentRow);
+            operations += elimanateColumn(j, currentRow, parallel, trace);
             currentRow++;
+            if (trace != null) {
+                trace.endStep();
+            }
+            if (statistics != null) {
+                // reuse the trace's measurement of the step rather than scanning the entries again
+                int[] bits = trace != null ? trace.getLastBitLengths() : maxBitLengths();
+                statistics.recordStep(bits[0], bits[1]);
+            }
         }
+        return operations;
     }
 
     // REQUIRES: b != null, b.size() == getNumRows()
     // EFFECTS: returns the unique solution vector x for Ax=b
     // returns null if the system is inconsistent or has infinite solutions
     public Vector solve(Vector b) {
-        Matrix augmented = augment(b);
-        augmented.calculaterref();
-        for (int i = 0; i < augmented.getNumRows(); i++) {
-            if (augmented.isRowContradictory(i)) {
-                return null;
-            }
-        }
+        long start = Metrics.startTimer();
+        Vector x = factorize().solve(b);
+        Metrics.stopTimer("solve", start, rows, cols);
+        return x;
+    }
 
-        if (this.getRank() < this.cols) {
-            return null;
+    // REQUIRES: b != null, b.size() == getNumRows()
+    // EFFECTS: returns the same result as solve(b); square systems are first solved in
+    // floating point and the exact answer is recovered and verified from that approximation,
+    // falling back to exact elimination if the approximation is not good enough
+    public Vector solveFast(Vector b) {
+        long start = Metrics.startTimer();
+        Vector x = null;
+        if (isSquare() && factorization == null) {
+            x = NumericSolver.solve(rowArrays(), rows, b);
         }
-
-        Fraction[] solution = new Fraction[getNumCols()];
-        for (int i = 0; i < getNumCols(); i++) {
-            solution[i] = augmented.getElement(i, getNumCols());
+        if (x == null) {
+            x = solve(b);
         }
-        return new Vector(solution);
+        Metrics.stopTimer("solveFast", start, rows, cols);
+        return x;
     }
 
-    // REQUIRES: this matrix is augmented and in RREF, i >= 0, i < getNumRows()
-    // EFFECTS: returns true if row i represents a contradiction example [0 0 ... 0 | non-zero] 
-    private boolean isRowContradictory(int i) {
-        Fraction b = this.data[i][getNumCols() - 1];
-        boolean coefficientsAreZero = true;
-        for (int j = 0; j < getNumCols() - 1; j++) {
-            if (data[i][j].getNumerator() != 0) {
-                coefficientsAreZero = false;
-                break;
-            }
+    // REQUIRES: b != null, b.size() == getNumRows()
+    // EFFECTS: returns the same result as solve(b); square nonsingular systems are solved by
+    // p-adic lifting modulo a word-sized prime, whose cost grows only slowly with the size of
+    // the answer, which suits large systems with big solutions
+    public Vector solveDixon(Vector b) {
+        long start = Metrics.startTimer();
+        Vector x = null;
+        if (isSquare()) {
+            x = new DixonSolver(augment(b).storage).solve();
         }
-        if (coefficientsAreZero && b.getNumerator() != 0) {
-            return true;
+        if (x == null) {
+            x = solve(b);
         }
-        return false;
+        Metrics.stopTimer("solveDixon", start, rows, cols);
+        return x;
+    }
+
+    // REQUIRES: bs != null, every bs[k].size() == getNumRows()
+    // EFFECTS: solves Ax=bs[k] for every k with a single elimination of A; inconsistent and
+    // underdetermined right-hand sides are flagged individually in the result
+    public SolutionSet solveAll(Vector[] bs) {
+        long start = Metrics.startTimer();
+        SolutionSet solutions = factorize().solveAll(bs);
+        Metrics.stopTimer("solveAll", start, rows, cols);
+        return solutions;
+    }
+
+    // REQUIRES: b != null, b.getNumRows() == getNumRows()
+    // EFFECTS: solves Ax=c for every column c of b with a single elimination of A; inconsistent
+    // and underdetermined columns are flagged individually in the result
+    public SolutionSet solve(Matrix b) {
+        Vector[] bs = new Vector[b.getNumCols()];
+        for (int k = 0; k < bs.length; k++) {
+            bs[k] = new Vector(b.storage, k);
+        }
+        return solveAll(bs);
+    }
+
+    // EFFECTS: returns the exact LU factorization of this matrix; the factorization is computed
+    // once and reused until the matrix is changed, so repeated solves against the same
+    // coefficients only pay for forward and back substitution
+    public LUDecomposition factorize() {
+        if (factorization == null) {
+            long start = Metrics.startTimer();
+            factorization = new LUDecomposition(this);
+            Metrics.stopTimer("factorize", start, rows, cols);
+        }
+        return factorization;
     }
 
     // REQUIRES: this.isSquare() == true
     // EFFECTS: returns the determinant of this matrix
     public Fraction getDeterminant() {
-        Matrix copy = this.copy();
-        copy.calculaterref();
-        Fraction diagProduct = new Fraction(1, 1);
-        for (int i = 0; i < rows; i++) {
-            diagProduct = diagProduct.multiply(copy.getElement(i, i));
+        if (determinant == null && factorization != null) {
+            determinant = factorization.getDeterminant();
+        } else if (determinant == null) {
+            long start = Metrics.startTimer();
+            BareissElimination elimination = new BareissElimination(storage);
+            determinant = elimination.getDeterminant();
+            rank = elimination.getRank();
+            Metrics.stopTimer("getDeterminant", start, rows, cols);
         }
-        return diagProduct.divide(copy.getOverallDeterminantEffect());
+        return determinant;
     }
 
-    // REQUIRES: this.isSquare() == true, this.getDeterminant().getNumerator() != 0
+    // REQUIRES: this.isSquare() == true
+    // EFFECTS: returns the determinant of this matrix, computed modulo many word-sized primes
+    // in parallel and reconstructed with the Chinese Remainder Theorem; suited to large matrices.
+    // The result is cached for getDeterminant() only if the primes used passed the Hadamard
+    // bound; a result accepted early is exact with overwhelming probability but not proven
+    public Fraction getDeterminantModular() {
+        if (determinant != null) {
+            return determinant;
+        }
+        long start = Metrics.startTimer();
+        MultiModularEngine engine = new MultiModularEngine(storage);
+        Fraction det = engine.getDeterminant();
+        if (engine.isDeterminantProven()) {
+            determinant = det;
+        }
+        Metrics.stopTimer("getDeterminantModular", start, rows, cols);
+        return det;
+    }
+
+    // REQUIRES: this.isSquare() == true, this.getDeterminant().isZero() == false
     // EFFECTS: returns a new Matrix that is the inverse (A^-1)
     public Matrix invert() {
-        Matrix augmented = this.copy();
-        augmented = augmentIdentity(augmented);
+        long start = Metrics.startTimer();
+        Matrix augmented = augmentIdentity(this);
+        augmented.setLogging(false);
         augmented.calculaterref();
-        Matrix inverse = new Matrix(getNumRows(), getNumCols());
+        Matrix inverse = new Matrix(getNumRows(), getNumCols(), getStorageLayout());
         for (int i = 0; i < rows; i++) {
             for (int j = getNumCols(); j < 2 * getNumCols(); j++) {
                 inverse.setElement(i, (j - getNumCols()), augmented.getElement(i, j));
             }
         }
+        Metrics.stopTimer("invert", start, rows, cols);
         return inverse;
     }
 
@@ -188,67 +443,76 @@ public class Matrix {
     // MODIFIES: this
     // EFFECTS: swaps row r1 and r2; adds operation to log
     private void swapRows(int r1, int r2) {
-        Fraction[] row1 = data[r1];
-        Fraction[] row2 = data[r2];
-        data[r2] = row1;
-        data[r1] = row2;
-        log.add(new SwapRow(r1, r2));
+        ensureOwnStorage().swapRows(r1, r2);
+        Metrics.countRowOperation();
+        if (logging) {
+            log.swapRows(r1, r2);
+        }
     }
 
     // REQUIRES: row >= 0, row < getNumRows(), scalar != null
     // MODIFIES: this
     // EFFECTS: multiplies row by scalar; adds operation to log
     private void scaleRow(int row, Fraction scalar) {
-        for (int i = 0; i < cols; i++) {
-            data[row][i] = data[row][i].multiply(scalar);
+        if (!ensureOwnStorage().scaleRow(row, scalar)) {
+            inflateStorage();
+            ensureOwnStorage().scaleRow(row, scalar);
+        }
+        Metrics.countRowOperation();
+        if (logging) {
+            log.scaleRow(row, scalar);
         }
-        log.add(new ScaleRow(row, scalar));
     }
 
     // REQUIRES: sourceRow >= 0, sourceRow < getNumRows(), destRow >= 0, destRow < getNumRows(), scalar != null
     // MODIFIES: this
     // EFFECTS: adds (scalar * sourceRow) to destRow; adds operation to log
     private void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
-        for (int i = 0; i < cols; i++) {
-            Fraction termToAdd = data[sourceRow][i].multiply(scalar);
-            data[destRow][i] = data[destRow][i].add(termToAdd);
+        if (!ensureOwnStorage().addRowMultiple(sourceRow, destRow, scalar)) {
+            inflateStorage();
+            ensureOwnStorage().addRowMultiple(sourceRow, destRow, scalar);
+        }
+        Metrics.countRowOperation();
+        if (logging) {
+            log.addRowMultiple(sourceRow, destRow, scalar);
         }
-        log.add(new AddRowMultiple(sourceRow, destRow, scalar));
     }
 
     // EFFECTS: returns the rank of the matrix
     public int getRank() {
-        Matrix temp = this.copy();
-        temp.calculaterref();
-        int rank = 0;
-        for (int i = 0; i < temp.getNumRows(); i++) {
-            if (!temp.isRowAllZeros(i)) {
-                rank++;
+        if (rank < 0) {
+            if (factorization != null) {
+                rank = factorization.getRank();
+            } else {
+                long start = Metrics.startTimer();
+                BareissElimination elimination = new BareissElimination(storage);
+                rank = elimination.getRank();
+                if (isSquare()) {
+                    determinant = elimination.getDeterminant();
+                }
+                Metrics.stopTimer("getRank", start, rows, cols);
             }
         }
         return rank;
     }
 
-    // REQUIRES: rowIndex >= 0, rowIndex < getNumRows()
-    // EFFECTS: returns true if every element in the specified row is zero
-    private boolean isRowAllZeros(int rowIndex) {
-        for (int j = 0; j < getNumCols(); j++) {
-            if (data[rowIndex][j].getNumerator() != 0) {
-                return false;
-            }
+    // EFFECTS: returns the rank of the matrix, computed modulo several word-sized primes in
+    // parallel; the result is exact unless every prime divides all maximal non-zero minors
+    public int getRankModular() {
+        if (rank < 0) {
+            long start = Metrics.startTimer();
+            int modularRank = new MultiModularEngine(storage).getRank();
+            Metrics.stopTimer("getRankModular", start, rows, cols);
+            return modularRank;
         }
-        return true;
+        return rank;
     }
 
     // REQUIRES: b != null, b.size() == getNumRows()
     // EFFECTS: returns true if the system Ax = b has at least one solution
     public boolean isConsistent(Vector b) {
-        int rankA = this.getRank();
-
-        Matrix augmented = this.augment(b);
-        int rankAugmented = augmented.getRank();
-
-        return rankA == rankAugmented;
+        BareissElimination elimination = new BareissElimination(this.augment(b).storage);
+        return elimination.getRankOfLeadingColumns(cols) == elimination.getRank();
     }
 
     // EFFECTS: returns true if number of rows equals number of columns
@@ -256,25 +520,50 @@ public class Matrix {
      return cols == rows;
     }
 
-    // EFFECTS: returns the history (list) of row operations performed during RREF
+    // EFFECTS: returns a read-only view of the history (list) of row operations performed
+    // during RREF that the log sink still holds; entries are built as they are accessed
     public List<LogElement> getLog() {
-        return this.log;
+        return log.getRetained();
+    }
+
+    // REQUIRES: sink != null
+    // MODIFIES: this
+    // EFFECTS: sends row operations performed from now on to sink instead of the current sink
+    public void setLogSink(LogSink sink) {
+        this.log = sink;
+    }
+
+    // EFFECTS: returns the sink receiving this matrix's row operations
+    public LogSink getLogSink() {
+        return log;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: turns recording of row operations in the log on or off; operations already
+    // recorded are kept
+    public void setLogging(boolean logging) {
+        this.logging = logging;
+    }
+
+    // EFFECTS: returns true if row operations are recorded in the log
+    public boolean isLogging() {
+        return logging;
     }
 
     // REQUIRES: rowIndex >= 0, rowIndex < getNumRows()
-    // EFFECTS: returns the row at rowIndex as a Vector
-    private Vector getRowVector(int rowIndex) {
-        return new Vector(data[rowIndex]);
+    // EFFECTS: returns a copy of the row at rowIndex as a Vector
+    public Vector getRowVector(int rowIndex) {
+        return new Vector(storage.getRowArray(rowIndex));
     }
 
     // REQUIRES: colIndex >= 0, colIndex < getNumCols()
-    // EFFECTS: returns the column at colIndex as a Vector
-    private Vector getColumnVector(int colIndex) {
-        Fraction[] colData = new Fraction[rows];
+    // EFFECTS: returns a copy of the column at colIndex as a Vector
+    public Vector getColumnVector(int colIndex) {
+        Fraction[] column = new Fraction[rows];
         for (int i = 0; i < rows; i++) {
-            colData[i] = data[i][colIndex];
+            column[i] = storage.get(i, colIndex);
         }
-        return new Vector(colData);
+        return Vector.wrap(column);
     }
     // EFFECTS: returns number of rows  in this Matrix.
     public int getNumRows() {
@@ -286,13 +575,54 @@ public class Matrix {
         return cols;
     }
 
+    // EFFECTS: returns {0, 1, ..., getNumRows() - 1}, the row each row starts in
+    private int[] startingRows() {
+        int[] origins = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            origins[i] = i;
+        }
+        return origins;
+    }
+
+    // REQUIRES: col >= 0, col < getNumCols(), startRow >= 0, startRow < getNumRows(),
+    // origins != null if strategy is ORIGINAL_ROW_ORDER
+    // EFFECTS: returns the index of the pivot row for column col chosen by strategy, searching
+    // from startRow downwards; origins[i] is the row that row i started in. Returns startRow if
+    // every candidate is zero
+    private int findPivotRow(int col, int startRow, PivotStrategy strategy, int[] origins) {
+        Metrics.countPivotSearch();
+        if (strategy == PivotStrategy.LARGEST_MAGNITUDE) {
+            return findLargestPivotRow(col, startRow);
+        }
+        int best = startRow;
+        long bestCost = Long.MAX_VALUE;
+        for (int i = startRow; i < rows; i++) {
+            Fraction candidate = getElement(i, col);
+            if (candidate.isZero()) {
+                continue;
+            }
+            if (strategy == PivotStrategy.FIRST_NON_ZERO) {
+                return i;
+            }
+            long cost = strategy == PivotStrategy.ORIGINAL_ROW_ORDER ? origins[i] : candidate.getHeight();
+            if (strategy == PivotStrategy.MARKOWITZ) {
+                cost += (long) countNonZeros(i, col) << 32;
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = i;
+            }
+        }
+        return best;
+    }
+
     // REQUIRES: col >= 0, col < getNumCols(), startRow >= 0, startRow < getNumRows()
     // EFFECTS: returns index of row with largest absolute value in column col, searching from startRow downwards
-    private int findPivotRow(int col, int startRow) {
+    private int findLargestPivotRow(int col, int startRow) {
         int maxRow = startRow;
-        double maxVal = Math.abs(data[startRow][col].toDecimal());
+        double maxVal = Math.abs(getElement(startRow, col).toDecimal());
         for (int i = startRow + 1; i < rows; i++) {
-            double currentVal = Math.abs(data[i][col].toDecimal());
+            double currentVal = Math.abs(getElement(i, col).toDecimal());
             if (currentVal > maxVal) {
                 maxVal = currentVal;
                 maxRow = i;
@@ -301,39 +631,179 @@ public class Matrix {
         return maxRow;
     }
 
+    // EFFECTS: returns the number of non-zero entries of row in columns fromCol onwards
+    private int countNonZeros(int row, int fromCol) {
+        Fraction[] entries = storage.getRowArray(row);
+        int count = 0;
+        for (int j = fromCol; j < cols; j++) {
+            if (!entries[j].isZero()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns {largest numerator bit length, largest denominator bit length} over all
+    // entries
+    private int[] maxBitLengths() {
+        int[] bits = new int[2];
+        for (int i = 0; i < rows; i++) {
+            for (Fraction f : storage.getRowArray(i)) {
+                bits[0] = Math.max(bits[0], f.getNumeratorBitLength());
+                bits[1] = Math.max(bits[1], f.getDenominatorBitLength());
+            }
+        }
+        return bits;
+    }
+
     // REQUIRES: j >= 0, j < getNumCols(), pivotRow >= 0, pivotRow < getNumRows(), getElement(pivotRow, j) == 1
     // MODIFIES: this
-    // EFFECTS: performs row operations to eliminate values above and below the pivot at 
-    private void elimanateColumn(int j, int pivotRow) {
+    // EFFECTS: performs row operations to eliminate values above and below the pivot at
+    // [pivotRow][j]; the updates run in parallel if parallel is true and the step is large.
+    // Reports the height of every updated entry and the new entries of the pivot row and every
+    // updated row to trace unless it is null. Returns the number of row operations performed
+    private int elimanateColumn(int j, int pivotRow, boolean parallel, EliminationTrace trace) {
+        int[] targets = new int[rows];
+        Fraction[] multipliers = new Fraction[rows];
+        int count = 0;
         for (int i = 0; i < this.getNumRows(); i++) {
             if (i == pivotRow) {
                 continue;
             }
             Fraction valueToEliminate = getElement(i, j);
-            if (valueToEliminate.getNumerator() == 0) {
+            if (valueToEliminate.isZero()) {
                 continue;
             }
-            Fraction multiplier = new Fraction(-valueToEliminate.getNumerator(),
-                    valueToEliminate.getDenominator());
-            addRowMultiple(pivotRow, i, multiplier);
+            targets[count] = i;
+            multipliers[count] = valueToEliminate.negate();
+            count++;
         }
+        long[] predicted = trace == null ? null : predictHeights(pivotRow, targets, multipliers, count);
+        if (parallel && count > 1 && (long) count * cols >= PARALLEL_MIN_CELLS) {
+            addRowMultiplesInParallel(pivotRow, targets, multipliers, count);
+        } else {
+            for (int k = 0; k < count; k++) {
+                addRowMultiple(pivotRow, targets[k], multipliers[k]);
+            }
+        }
+        if (trace != null) {
+            Fraction[] source = storage.getRowArray(pivotRow);
+            trace.measureRow(pivotRow, source);
+            for (int k = 0; k < count; k++) {
+                Fraction[] dest = storage.getRowArray(targets[k]);
+                trace.measureRow(targets[k], dest);
+                long actual = 0;
+                for (int c = 0; c < cols; c++) {
+                    if (!source[c].isZero()) {
+                        actual += dest[c].getHeight();
+                    }
+                }
+                trace.recordUpdate(predicted[k], actual);
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns, for each target row, the combined height its entries would reach if
+    // (multipliers[k] * sourceRow) were added to it without cancelling common factors
+    private long[] predictHeights(int sourceRow, int[] targets, Fraction[] multipliers, int count) {
+        Fraction[] source = storage.getRowArray(sourceRow);
+        long[] predicted = new long[count];
+        for (int k = 0; k < count; k++) {
+            Fraction[] dest = storage.getRowArray(targets[k]);
+            for (int c = 0; c < cols; c++) {
+                if (!source[c].isZero()) {
+                    predicted[k] += EliminationTrace.unreducedHeight(dest[c], multipliers[k], source[c]);
+                }
+            }
+        }
+        return predicted;
     }
 
-    // EFFECTS: returns a new Matrix that is a copy of this.
-    public Matrix copy() {
-        Matrix copy = new Matrix(this.rows, this.cols);
+    // REQUIRES: targets[0..count) are distinct rows other than sourceRow
+    // MODIFIES: this
+    // EFFECTS: adds (multipliers[k] * sourceRow) to each targets[k] concurrently, then logs
+    // the operations in target order; rows the store could not hold are redone after the
+    // store is moved to FRACTIONS layout
+    private void addRowMultiplesInParallel(int sourceRow, int[] targets, Fraction[] multipliers, int count) {
+        MutableMatrixStorage target = ensureOwnStorage();
+        boolean[] failed = new boolean[count];
+        IntStream.range(0, count).parallel()
+                .forEach(k -> failed[k] = !target.addRowMultiple(sourceRow, targets[k], multipliers[k]));
+        for (int k = 0; k < count; k++) {
+            if (failed[k]) {
+                if (ownStorage == target) {
+                    inflateStorage();
+                }
+                ensureOwnStorage().addRowMultiple(sourceRow, targets[k], multipliers[k]);
+            }
+            Metrics.countRowOperation();
+            if (logging) {
+                log.addRowMultiple(sourceRow, targets[k], multipliers[k]);
+            }
+        }
+    }
+
+    // EFFECTS: returns the rows of this matrix as arrays that must not be modified
+    private Fraction[][] rowArrays() {
+        Fraction[][] result = new Fraction[rows][];
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                copy.setElement(i, j, this.getElement(i, j));
+            result[i] = storage.getRowArray(i);
+        }
+        return result;
+    }
+
+    // REQUIRES: data is rectangular with at least one row and column, layout != null
+    // EFFECTS: returns a new Matrix holding data in the given layout; takes ownership of data
+    private static Matrix fromRows(Fraction[][] data, StorageLayout layout) {
+        if (layout == StorageLayout.FRACTIONS) {
+            return new Matrix(new FractionArrayStorage(data));
+        }
+        Matrix m = new Matrix(data.length, data[0].length, layout);
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < data[0].length; j++) {
+                m.setElement(i, j, data[i][j]);
             }
         }
-        return copy;
+        return m;
+    }
+
+    // EFFECTS: returns a new Matrix that is a copy of this; the two share their entries until
+    // either one is changed
+    public Matrix copy() {
+        return share(storage);
+    }
+
+    // EFFECTS: returns a new Matrix holding a private copy of this matrix's entries; unlike
+    // copy(), this matrix does not have to copy its entries before its next change
+    Matrix detachedCopy() {
+        return new Matrix(storage.copy());
+    }
+
+    // EFFECTS: returns true if this matrix's entries may be read by another Matrix or a snapshot,
+    // so that its next change first copies them
+    boolean isStorageShared() {
+        return ownStorage == null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns an immutable snapshot of this matrix's current entries; the snapshot
+    // shares them with this matrix, which copies them before its next change
+    public ImmutableMatrix freeze() {
+        ownStorage = null;
+        return new ImmutableMatrix(storage);
+    }
+
+    // REQUIRES: storage is never modified
+    // EFFECTS: returns a new Matrix that reads storage and copies it before its first change
+    static Matrix sharing(MatrixStorage storage) {
+        return new Matrix(storage, null);
     }
 
     // REQUIRES: b != null, b.size() == getNumRows()
     // EFFECTS: returns a new Matrix augmented with vector b as the last column
     private Matrix augment(Vector b) {
-        Matrix augmented = new Matrix(this.rows, this.cols + 1);
+        Matrix augmented = new Matrix(this.rows, this.cols + 1, getStorageLayout());
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
                 augmented.setElement(i, j, this.getElement(i, j));
@@ -346,14 +816,14 @@ public class Matrix {
     // REQUIRES: m != null
     // EFFECTS: returns a new Matrix consisting of m augmented with the identity matrix
     private Matrix augmentIdentity(Matrix m) {
-        Matrix augmented = new Matrix(m.getNumRows(), 2 * m.getNumCols());
+        Matrix augmented = new Matrix(m.getNumRows(), 2 * m.getNumCols(), m.getStorageLayout());
         for (int i = 0; i < augmented.getNumRows(); i++) {
             for (int j = 0; j < m.getNumCols(); j++) {
                 augmented.setElement(i, j, m.getElement(i, j));
             }
             for (int j = m.getNumCols(); j < augmented.getNumCols(); j++) {
                 if (i == j - m.getNumCols()) {
-                    augmented.setElement(i, j, new Fraction(1, 1));
+                    augmented.setElement(i, j, Fraction.ONE);
                 }
             }
         }
@@ -362,65 +832,124 @@ public class Matrix {
 
     // EFFECTS: returns a string representation of all operations in the log
     public String getLogString() {
-        String logString = "";
-        for (LogElement i : log) {
-            logString = logString + i.getString() + "\n";
-        }
-        return logString;
-    }
-
-    // EFFECTS: returns the product of determinant effects from all logged operations
-    private Fraction getOverallDeterminantEffect() {
-        Fraction overAllEffect = new Fraction(1, 1);
-        for (LogElement i : log) {
-            overAllEffect = overAllEffect.multiply(i.getDeterminantEffect());
+        StringBuilder builder = new StringBuilder();
+        for (LogElement element : log.getRetained()) {
+            builder.append(element.getString()).append('\n');
         }
-        return overAllEffect;
+        return builder.toString();
     }
 
     // REQUIRES: isSquare() == true
     // EFFECTS: returns the trace  of this matrix.
     public Fraction getTrace() {
-        Fraction sum = new Fraction(0, 1);
+        FractionAccumulator sum = new FractionAccumulator();
         for (int i = 0; i < rows; i++) {
-            sum = sum.add(getElement(i, i));
+            sum.add(getElement(i, i));
         }
-        return sum;
+        return sum.toFraction();
     }
 
-    // EFFECTS: returns an array of Vectors forming a basis for the column space
-    public Vector[] getColumnBasisVectors() {
-        Matrix m = copy();
-        m.calculaterref();
-        int rank = this.getRank();
-        Vector[] basis = new Vector[rank];
-        int basisIndex = 0;
-        for (int j = 0; j < cols; j++) {
-            if (isColumnPivotrref(m, j)) {
-                basis[basisIndex] = getColumnVector(j);
-                basisIndex++;
-            }
-        }
-        return basis;
+    // EFFECTS: returns the Reduced Row Echelon Form of this matrix without modifying it; the
+    // reduction is computed once and reused until this matrix is changed
+    public Matrix getReducedForm() {
+        computeReducedForm();
+        return reducedForm.copy();
     }
 
-    // EFFECTS: returns an array of Vectors forming a basis for the row space
-    public Vector[] getRowBasisVectors() {
-        return this.transpose().getColumnBasisVectors();
+    // EFFECTS: returns the indices of the pivot columns of the Reduced Row Echelon Form in
+    // increasing order
+    public int[] getPivotColumns() {
+        computeReducedForm();
+        return pivotColumns.clone();
     }
 
-    // REQUIRES: m is in Row Reduced Echelon Form, j >= 0, j < m.getNumCols()
-    // EFFECTS: returns true if column j contains a pivot
-    private boolean isColumnPivotrref(Matrix m, int j) {
-        Fraction sum = new Fraction(0, 1);
+    // EFFECTS: returns the row operations calculaterref(PivotStrategy.ORIGINAL_ROW_ORDER)
+    // performs on this matrix, compiled into a plan that can be replayed on other matrices and
+    // right-hand sides without pivot searches; this matrix is not modified
+    public EliminationPlan getEliminationPlan() {
+        computeReducedForm();
+        return plan;
+    }
+
+    // REQUIRES: plan != null, plan.getNumRows() == getNumRows()
+    // MODIFIES: this
+    // EFFECTS: performs the row operations of plan in order; records operations in log
+    public void applyPlan(EliminationPlan plan) {
+        invalidateCaches();
+        ensureOwnStorage();
+        for (int i = 0; i < plan.size(); i++) {
+            switch (plan.getOp(i)) {
+                case OperationLog.SWAP:
+                    swapRows(plan.getFirstRow(i), plan.getSecondRow(i));
+                    break;
+                case OperationLog.SCALE:
+                    scaleRow(plan.getFirstRow(i), plan.getScalar(i));
+                    break;
+                default:
+                    addRowMultiple(plan.getFirstRow(i), plan.getSecondRow(i), plan.getScalar(i));
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: computes and caches the reduced form, its pivot columns, the plan producing it,
+    // the rows it pivoted on and the rank, unless they are already cached; pivots are chosen in
+    // original row order so that the rows pivoted on are a basis of the row space
+    private void computeReducedForm() {
+        if (reducedForm != null) {
+            return;
+        }
+        Matrix m = detachedCopy();
+        OperationLog recorder = new OperationLog();
+        m.setLogSink(recorder);
+        int[] origins = startingRows();
+        long start = Metrics.startTimer();
+        long operations = m.reduce(false, PivotStrategy.ORIGINAL_ROW_ORDER, null, null, origins);
+        Metrics.stopTimer("calculaterref", start, rows, cols, operations);
+        plan = recorder.compile(rows);
+        int[] pivots = new int[Math.min(rows, cols)];
+        int count = 0;
         for (int i = 0; i < rows; i++) {
-            sum = sum.add(m.getElement(i, j));
+            int j = 0;
+            while (j < cols && m.getElement(i, j).isZero()) {
+                j++;
+            }
+            if (j == cols) {
+                break;
+            }
+            pivots[count] = j;
+            count++;
         }
-        if (sum.equals(new Fraction(1, 1))) {
-            return true;
-        } else {
-            return false;
+        pivotColumns = new int[count];
+        System.arraycopy(pivots, 0, pivotColumns, 0, count);
+        pivotRows = Arrays.copyOf(origins, count);
+        Arrays.sort(pivotRows);
+        rank = count;
+        reducedForm = m;
+    }
+
+    // EFFECTS: returns the rank, pivot columns and bases of the column space, row space and
+    // null space, all read off a single reduction that is cached with the reduced form
+    public SubspaceAnalysis analyze() {
+        if (analysis == null) {
+            computeReducedForm();
+            analysis = new SubspaceAnalysis(this, reducedForm, pivotColumns, pivotRows);
         }
+        return analysis;
+    }
+
+    // EFFECTS: returns an array of Vectors forming a basis for the column space
+    public Vector[] getColumnBasisVectors() {
+        return analyze().getColumnBasis();
+    }
+
+    // EFFECTS: returns an array of Vectors forming a basis for the row space
+    public Vector[] getRowBasisVectors() {
+        return analyze().getRowBasis();
+    }
 
+    // EFFECTS: returns an array of Vectors forming a basis for the null space
+    public Vector[] getNullSpaceBasisVectors() {
+        return analyze().getNullSpaceBasis();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// JFR event emitted by Metrics for each timed public Matrix operation while recording is on.
+@Name("model.MatrixOperation")
+@Label("Matrix Operation")
+@Category("Linear Algebra")
+@Description("A public Matrix operation with its dimensions and cost")
+class MatrixOperationEvent extends Event {
+    @Label("Operation")
+    String operation;     // name of the Matrix method
+
+    @Label("Rows")
+    int rows;             // rows of the receiver
+
+    @Label("Columns")
+    int cols;             // columns of the receiver
+
+    @Label("Row Operations")
+    long rowOperations;   // row operations performed, for reductions
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;           // wall time of the operation
+}
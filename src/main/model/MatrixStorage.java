@@ -0,0 +1,27 @@
+package model;
+
+// Represents the backing store of a Matrix's entries as seen by readers. Stores that can be
+// changed in place implement MutableMatrixStorage; read-only views implement only this.
+interface MatrixStorage {
+
+    // EFFECTS: returns the number of rows
+    int getNumRows();
+
+    // EFFECTS: returns the number of columns
+    int getNumCols();
+
+    // EFFECTS: returns the layout of this store
+    StorageLayout getLayout();
+
+    // REQUIRES: 0 <= row < getNumRows(), 0 <= col < getNumCols()
+    // EFFECTS: returns the entry at [row][col]
+    Fraction get(int row, int col);
+
+    // REQUIRES: 0 <= row < getNumRows()
+    // EFFECTS: returns the entries of row; the array may be this store's own row, so callers
+    // must not modify it
+    Fraction[] getRowArray(int row);
+
+    // EFFECTS: returns an independent copy of this store that can be changed in place
+    MutableMatrixStorage copy();
+}
@@ -0,0 +1,135 @@
+package model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opt-in counters for the hot paths of the library: Fraction allocations, gcd computations,
+// promotions to BigInteger arithmetic, row operations, pivot searches and the wall time of
+// public Matrix operations. Recording is off by default and costs a single volatile read per
+// event while off. Timed operations are also emitted as MatrixOperationEvents for JFR.
+public class Metrics {
+    private static volatile boolean enabled;                             // true while recording
+    private static final LongAdder FRACTIONS = new LongAdder();          // Fractions constructed
+    private static final LongAdder GCDS = new LongAdder();               // gcd computations
+    private static final LongAdder PROMOTIONS = new LongAdder();         // overflows into BigInteger
+    private static final LongAdder ROW_OPERATIONS = new LongAdder();     // elementary row operations
+    private static final LongAdder PIVOT_SEARCHES = new LongAdder();     // pivot searches
+    private static final LongAdder REDUCTIONS = new LongAdder();         // calls reducing to RREF
+    private static final Map<String, LongAdder[]> OPERATIONS = new ConcurrentHashMap<>(); // name -> {count, nanos}
+
+    private Metrics() {
+    }
+
+    // MODIFIES: this class
+    // EFFECTS: starts recording
+    public static void enable() {
+        enabled = true;
+    }
+
+    // MODIFIES: this class
+    // EFFECTS: stops recording; counts gathered so far are kept
+    public static void disable() {
+        enabled = false;
+    }
+
+    // EFFECTS: returns true if recording is on
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // MODIFIES: this class
+    // EFFECTS: sets every count and timing back to zero
+    public static void reset() {
+        FRACTIONS.reset();
+        GCDS.reset();
+        PROMOTIONS.reset();
+        ROW_OPERATIONS.reset();
+        PIVOT_SEARCHES.reset();
+        REDUCTIONS.reset();
+        OPERATIONS.clear();
+    }
+
+    // EFFECTS: returns the counts and timings recorded so far
+    public static MetricsSnapshot snapshot() {
+        Map<String, long[]> operations = new TreeMap<String, long[]>();
+        for (Map.Entry<String, LongAdder[]> entry : OPERATIONS.entrySet()) {
+            LongAdder[] adders = entry.getValue();
+            operations.put(entry.getKey(), new long[] {adders[0].sum(), adders[1].sum()});
+        }
+        return new MetricsSnapshot(FRACTIONS.sum(), GCDS.sum(), PROMOTIONS.sum(), ROW_OPERATIONS.sum(),
+                PIVOT_SEARCHES.sum(), REDUCTIONS.sum(), operations);
+    }
+
+    // EFFECTS: records the construction of a Fraction
+    static void countFraction() {
+        if (enabled) {
+            FRACTIONS.increment();
+        }
+    }
+
+    // EFFECTS: records a gcd computation
+    static void countGcd() {
+        if (enabled) {
+            GCDS.increment();
+        }
+    }
+
+    // EFFECTS: records a computation that overflowed longs and moved to BigInteger arithmetic
+    static void countPromotion() {
+        if (enabled) {
+            PROMOTIONS.increment();
+        }
+    }
+
+    // EFFECTS: records an elementary row operation
+    static void countRowOperation() {
+        if (enabled) {
+            ROW_OPERATIONS.increment();
+        }
+    }
+
+    // EFFECTS: records a pivot search
+    static void countPivotSearch() {
+        if (enabled) {
+            PIVOT_SEARCHES.increment();
+        }
+    }
+
+    // EFFECTS: returns a start time for stopTimer, or 0 if recording is off
+    static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // EFFECTS: records an operation of the given name on a rows x cols matrix that began at
+    // start, unless start is 0
+    static void stopTimer(String operation, long start, int rows, int cols) {
+        stopTimer(operation, start, rows, cols, 0);
+    }
+
+    // EFFECTS: records an operation of the given name on a rows x cols matrix that began at
+    // start and performed rowOperations row operations, unless start is 0
+    static void stopTimer(String operation, long start, int rows, int cols, long rowOperations) {
+        if (start == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        LongAdder[] adders = OPERATIONS.computeIfAbsent(operation, k -> new LongAdder[] {new LongAdder(),
+                new LongAdder()});
+        adders[0].increment();
+        adders[1].add(nanos);
+        if (operation.startsWith("calculaterref")) {
+            REDUCTIONS.increment();
+        }
+        MatrixOperationEvent event = new MatrixOperationEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.rows = rows;
+            event.cols = cols;
+            event.rowOperations = rowOperations;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+}
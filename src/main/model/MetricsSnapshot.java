@@ -0,0 +1,76 @@
+package model;
+
+import java.util.Map;
+import java.util.Set;
+
+// Represents the counts and timings recorded by Metrics at one point in time.
+public class MetricsSnapshot {
+    private long fractions;                 // Fractions constructed
+    private long gcds;                      // gcd computations
+    private long promotions;                // overflows into BigInteger arithmetic
+    private long rowOperations;             // elementary row operations
+    private long pivotSearches;             // pivot searches
+    private long reductions;                // calls reducing a matrix to RREF
+    private Map<String, long[]> operations; // operation name -> {count, total nanoseconds}
+
+    // EFFECTS: constructs a snapshot of the given values
+    MetricsSnapshot(long fractions, long gcds, long promotions, long rowOperations, long pivotSearches,
+                    long reductions, Map<String, long[]> operations) {
+        this.fractions = fractions;
+        this.gcds = gcds;
+        this.promotions = promotions;
+        this.rowOperations = rowOperations;
+        this.pivotSearches = pivotSearches;
+        this.reductions = reductions;
+        this.operations = operations;
+    }
+
+    // EFFECTS: returns the number of Fractions constructed
+    public long getFractionAllocations() {
+        return fractions;
+    }
+
+    // EFFECTS: returns the number of gcd computations
+    public long getGcdCalls() {
+        return gcds;
+    }
+
+    // EFFECTS: returns the number of computations that overflowed longs and moved to BigInteger
+    // arithmetic, including matrices moving out of packed storage
+    public long getPromotions() {
+        return promotions;
+    }
+
+    // EFFECTS: returns the number of elementary row operations
+    public long getRowOperations() {
+        return rowOperations;
+    }
+
+    // EFFECTS: returns the number of pivot searches
+    public long getPivotSearches() {
+        return pivotSearches;
+    }
+
+    // EFFECTS: returns the number of calculaterref() and calculaterrefParallel() calls
+    public long getReductions() {
+        return reductions;
+    }
+
+    // EFFECTS: returns the names of the operations timed so far
+    public Set<String> getOperationNames() {
+        return operations.keySet();
+    }
+
+    // EFFECTS: returns how many times the named operation ran, or 0 if it never did
+    public long getOperationCount(String operation) {
+        long[] values = operations.get(operation);
+        return values == null ? 0 : values[0];
+    }
+
+    // EFFECTS: returns the total wall time in nanoseconds of the named operation, or 0 if it
+    // never ran
+    public long getOperationNanos(String operation) {
+        long[] values = operations.get(operation);
+        return values == null ? 0 : values[1];
+    }
+}
@@ -0,0 +1,196 @@
+package model;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Computes exact determinants and ranks by eliminating modulo many primes below 2^62 in
+// parallel and combining the residues with the Chinese Remainder Theorem. Each prime's
+// elimination works on primitive long rows only.
+class MultiModularEngine {
+    private static final int MIN_RANK_PRIMES = 2;   // primes tried for every rank computation
+
+    private IntegerMatrix matrix;   // integer form of the input
+    private ForkJoinPool pool;      // pool running the per-prime workers
+    private boolean proven;         // true if the last determinant's primes passed the Hadamard bound
+
+    // REQUIRES: storage != null
+    // EFFECTS: constructs an engine for storage running its workers on the common pool
+    MultiModularEngine(MatrixStorage storage) {
+        this(storage, ForkJoinPool.commonPool());
+    }
+
+    // REQUIRES: storage != null, pool != null
+    // EFFECTS: constructs an engine for storage running its workers on pool, one prime per
+    // worker in each batch
+    MultiModularEngine(MatrixStorage storage, ForkJoinPool pool) {
+        this.matrix = new IntegerMatrix(storage);
+        this.pool = pool;
+    }
+
+    // REQUIRES: the matrix is square
+    // EFFECTS: returns the determinant. Primes are added one parallel batch at a time until
+    // their product exceeds twice the Hadamard bound, or until a whole batch leaves the
+    // reconstructed value unchanged (which is wrong only if every prime in that batch
+    // divides the error, a chance below 2^-61 per prime).
+    Fraction getDeterminant() {
+        int boundBits = matrix.hadamardBoundBits() + 1;
+        int batchSize = Math.max(1, pool.getParallelism());
+        BigInteger modulus = BigInteger.ONE;
+        BigInteger residue = BigInteger.ZERO;
+        BigInteger previous = null;
+        int nextPrime = 0;
+        while (modulus.bitLength() <= boundBits) {
+            List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+            List<PrimeField> fields = new ArrayList<PrimeField>();
+            for (int k = 0; k < batchSize; k++) {
+                PrimeField field = new PrimeField(PrimeField.getPrime(nextPrime++));
+                fields.add(field);
+                tasks.add(() -> determinantModulo(field));
+            }
+            List<Long> results = runAll(tasks);
+            for (int k = 0; k < fields.size(); k++) {
+                BigInteger p = BigInteger.valueOf(fields.get(k).getPrime());
+                BigInteger r = BigInteger.valueOf(results.get(k));
+                BigInteger t = r.subtract(residue).multiply(modulus.modInverse(p)).mod(p);
+                residue = residue.add(modulus.multiply(t));
+                modulus = modulus.multiply(p);
+            }
+            BigInteger value = symmetric(residue, modulus);
+            if (value.equals(previous)) {
+                break;
+            }
+            previous = value;
+        }
+        proven = modulus.bitLength() > boundBits;
+        return Fraction.valueOf(symmetric(residue, modulus), matrix.getScaleProduct());
+    }
+
+    // EFFECTS: returns true if the last determinant returned was reconstructed from primes
+    // whose product exceeds twice the Hadamard bound, so it is certainly exact; false if it
+    // was accepted early because a batch of primes left it unchanged
+    boolean isDeterminantProven() {
+        return proven;
+    }
+
+    // EFFECTS: returns the rank, taken as the largest rank found modulo a batch of primes;
+    // a prime can only lower the rank, and does so only if it divides every maximal
+    // non-zero minor
+    int getRank() {
+        int batchSize = Math.max(MIN_RANK_PRIMES, pool.getParallelism());
+        List<Callable<Long>> tasks = new ArrayList<Callable<Long>>();
+        for (int k = 0; k < batchSize; k++) {
+            PrimeField field = new PrimeField(PrimeField.getPrime(k));
+            tasks.add(() -> (long) rankModulo(field));
+        }
+        long rank = 0;
+        for (long r : runAll(tasks)) {
+            rank = Math.max(rank, r);
+        }
+        return (int) rank;
+    }
+
+    // REQUIRES: the matrix is square
+    // EFFECTS: returns true if the determinant is non-zero modulo the first prime, which proves
+    // the matrix nonsingular; false means it is singular or, with a chance below 2^-61, that
+    // the prime divides a non-zero determinant
+    boolean isNonSingularModuloPrime() {
+        return determinantModulo(new PrimeField(PrimeField.getPrime(0))) != 0;
+    }
+
+    // EFFECTS: runs every task on the pool and returns their results in order
+    private List<Long> runAll(List<Callable<Long>> tasks) {
+        List<Long> results = new ArrayList<Long>();
+        try {
+            for (Future<Long> f : pool.invokeAll(tasks)) {
+                results.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    // REQUIRES: the matrix is square
+    // EFFECTS: returns the determinant of the integer matrix modulo the field's prime
+    private long determinantModulo(PrimeField field) {
+        long[][] a = matrix.residues(field);
+        int n = a.length;
+        long det = field.one();
+        for (int c = 0; c < n; c++) {
+            int p = c;
+            while (p < n && a[p][c] == 0) {
+                p++;
+            }
+            if (p == n) {
+                return 0;
+            }
+            if (p != c) {
+                long[] temp = a[p];
+                a[p] = a[c];
+                a[c] = temp;
+                det = field.subtract(0, det);
+            }
+            det = field.multiply(det, a[c][c]);
+            eliminateBelow(field, a, c, c);
+        }
+        return field.fromMontgomery(det);
+    }
+
+    // EFFECTS: returns the rank of the integer matrix modulo the field's prime
+    private int rankModulo(PrimeField field) {
+        long[][] a = matrix.residues(field);
+        int r = 0;
+        for (int c = 0; c < matrix.getNumCols() && r < a.length; c++) {
+            int p = r;
+            while (p < a.length && a[p][c] == 0) {
+                p++;
+            }
+            if (p == a.length) {
+                continue;
+            }
+            long[] temp = a[p];
+            a[p] = a[r];
+            a[r] = temp;
+            eliminateBelow(field, a, r, c);
+            r++;
+        }
+        return r;
+    }
+
+    // REQUIRES: a[pivotRow][col] != 0
+    // MODIFIES: a
+    // EFFECTS: clears column col in every row below pivotRow
+    private void eliminateBelow(PrimeField field, long[][] a, int pivotRow, int col) {
+        long[] pivot = a[pivotRow];
+        long inverse = field.inverse(pivot[col]);
+        for (int i = pivotRow + 1; i < a.length; i++) {
+            long[] row = a[i];
+            if (row[col] == 0) {
+                continue;
+            }
+            long factor = field.multiply(row[col], inverse);
+            for (int j = col + 1; j < row.length; j++) {
+                if (pivot[j] != 0) {
+                    row[j] = field.subtract(row[j], field.multiply(factor, pivot[j]));
+                }
+            }
+            row[col] = 0;
+        }
+    }
+
+    // EFFECTS: returns the representative of value mod modulus in (-modulus/2, modulus/2]
+    private static BigInteger symmetric(BigInteger value, BigInteger modulus) {
+        if (value.shiftLeft(1).compareTo(modulus) > 0) {
+            return value.subtract(modulus);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.stream.IntStream;
+
+// Classical exact matrix product over Fraction rows, blocked into square tiles so each tile of
+// the operands is reused while it is hot in cache. Operand rows are read in place and every
+// output entry is summed in a FractionAccumulator, so no intermediate Fractions are created.
+class MultiplyKernel {
+    private static final int TILE = 48;                       // edge length of a tile
+    private static final long PARALLEL_MIN_WORK = 1L << 15;   // multiply-adds needed to go parallel
+
+    // REQUIRES: a has n rows of length inner, b has inner rows of length m
+    // EFFECTS: returns the n x m product a * b; row tiles are computed concurrently on the
+    // common ForkJoinPool if parallel is true and the product is large enough
+    static Fraction[][] multiply(Fraction[][] a, Fraction[][] b, int n, int inner, int m, boolean parallel) {
+        Fraction[][] c = new Fraction[n][m];
+        int rowTiles = (n + TILE - 1) / TILE;
+        IntStream tiles = IntStream.range(0, rowTiles);
+        if (parallel && rowTiles > 1 && (long) n * inner * m >= PARALLEL_MIN_WORK) {
+            tiles = tiles.parallel();
+        }
+        tiles.forEach(t -> multiplyRowTile(a, b, c, t * TILE, Math.min(n, (t + 1) * TILE), inner, m));
+        return c;
+    }
+
+    // MODIFIES: c
+    // EFFECTS: computes rows [rowStart, rowEnd) of c = a * b, tile by tile
+    private static void multiplyRowTile(Fraction[][] a, Fraction[][] b, Fraction[][] c,
+                                        int rowStart, int rowEnd, int inner, int m) {
+        FractionAccumulator[][] sums = new FractionAccumulator[rowEnd - rowStart][TILE];
+        for (int i = 0; i < sums.length; i++) {
+            for (int j = 0; j < TILE; j++) {
+                sums[i][j] = new FractionAccumulator();
+            }
+        }
+        for (int colStart = 0; colStart < m; colStart += TILE) {
+            int colEnd = Math.min(m, colStart + TILE);
+            for (int innerStart = 0; innerStart < inner; innerStart += TILE) {
+                int innerEnd = Math.min(inner, innerStart + TILE);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    Fraction[] aRow = a[i];
+                    FractionAccumulator[] sumRow = sums[i - rowStart];
+                    for (int k = innerStart; k < innerEnd; k++) {
+                        Fraction aik = aRow[k];
+                        if (aik.isZero()) {
+                            continue;
+                        }
+                        Fraction[] bRow = b[k];
+                        for (int j = colStart; j < colEnd; j++) {
+                            sumRow[j - colStart].addProduct(aik, bRow[j]);
+                        }
+                    }
+                }
+            }
+            for (int i = rowStart; i < rowEnd; i++) {
+                for (int j = colStart; j < colEnd; j++) {
+                    FractionAccumulator sum = sums[i - rowStart][j - colStart];
+                    c[i][j] = sum.toFraction();
+                    sum.reset();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package model;
+
+// Represents a backing store whose entries can be changed in place. Mutators return false,
+// leaving the store unchanged, when a value cannot be represented by this store's layout.
+interface MutableMatrixStorage extends MatrixStorage {
+
+    // REQUIRES: 0 <= row < getNumRows(), 0 <= col < getNumCols(), f != null
+    // MODIFIES: this
+    // EFFECTS: sets the entry at [row][col] to f; returns false if f cannot be stored
+    boolean set(int row, int col, Fraction f);
+
+    // REQUIRES: 0 <= r1, r2 < getNumRows()
+    // MODIFIES: this
+    // EFFECTS: interchanges rows r1 and r2
+    void swapRows(int r1, int r2);
+
+    // REQUIRES: 0 <= row < getNumRows(), scalar != null
+    // MODIFIES: this
+    // EFFECTS: multiplies row by scalar; returns false if the result cannot be stored
+    boolean scaleRow(int row, Fraction scalar);
+
+    // REQUIRES: 0 <= sourceRow, destRow < getNumRows(), sourceRow != destRow, scalar != null
+    // MODIFIES: this
+    // EFFECTS: adds (scalar * sourceRow) to destRow; returns false if the result cannot be stored
+    boolean addRowMultiple(int sourceRow, int destRow, Fraction scalar);
+}
@@ -0,0 +1,212 @@
+package model;
+
+// Floating-point fast path for square systems. The system is factored with partial-pivoting LU
+// in doubles, the approximate solution is improved by iterative refinement, and each component
+// is turned back into a Fraction with continued fractions. The candidate is returned only if it
+// satisfies the system exactly, so callers fall back to exact elimination whenever the
+// floating-point answer was not good enough to recover the true one. A candidate that
+// satisfies the system is also withheld unless the matrix is proved nonsingular modulo a
+// prime, since a singular consistent system has no unique solution to return.
+class NumericSolver {
+    private static final int REFINEMENT_STEPS = 3;              // iterative refinement passes
+    private static final double RELATIVE_TOLERANCE = 1e-9;      // accepted continued-fraction error
+    private static final long MAX_DENOMINATOR = 1L << 31;       // largest reconstructed denominator
+    private static final double MAX_MAGNITUDE = 1L << 52;       // largest component doubles hold exactly
+
+    private int n;          // dimension of the system
+    private double[] lu;    // packed L and U factors, row-major n x n
+    private int[] pivots;   // row i of the factors is row pivots[i] of A
+    private double[] a;     // A in doubles, row-major n x n
+
+    // REQUIRES: rows has n rows of length n
+    // EFFECTS: factors the double approximation of rows
+    private NumericSolver(Fraction[][] rows, int n) {
+        this.n = n;
+        this.a = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i * n + j] = rows[i][j].toDecimal();
+            }
+        }
+        this.lu = a.clone();
+        this.pivots = new int[n];
+    }
+
+    // REQUIRES: rows has n rows of length n, b.size() == n
+    // EFFECTS: returns the exact solution of rows * x = b, or null if the floating-point
+    // approximation could not be factored, reconstructed or verified, or rows could not be
+    // proved nonsingular
+    static Vector solve(Fraction[][] rows, int n, Vector b) {
+        NumericSolver solver = new NumericSolver(rows, n);
+        if (!solver.factor()) {
+            return null;
+        }
+        double[] rhs = new double[n];
+        for (int i = 0; i < n; i++) {
+            rhs[i] = b.getComponent(i).toDecimal();
+        }
+        double[] x = solver.refine(rhs);
+        Fraction[] candidate = new Fraction[n];
+        for (int i = 0; i < n; i++) {
+            candidate[i] = approximate(x[i]);
+            if (candidate[i] == null) {
+                return null;
+            }
+        }
+        if (!isSolution(rows, n, candidate, b)) {
+            return null;
+        }
+        return new MultiModularEngine(new FractionArrayStorage(rows)).isNonSingularModuloPrime()
+                ? new Vector(candidate) : null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: factors lu in place with partial pivoting; returns false if a pivot vanishes or
+    // an entry is not finite
+    private boolean factor() {
+        for (int i = 0; i < n; i++) {
+            pivots[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            double max = Math.abs(lu[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double v = Math.abs(lu[i * n + k]);
+                if (v > max) {
+                    max = v;
+                    p = i;
+                }
+            }
+            if (max == 0 || !Double.isFinite(max)) {
+                return false;
+            }
+            if (p != k) {
+                for (int j = 0; j < n; j++) {
+                    double t = lu[k * n + j];
+                    lu[k * n + j] = lu[p * n + j];
+                    lu[p * n + j] = t;
+                }
+                int t = pivots[k];
+                pivots[k] = pivots[p];
+                pivots[p] = t;
+            }
+            double pivot = lu[k * n + k];
+            for (int i = k + 1; i < n; i++) {
+                double multiplier = lu[i * n + k] / pivot;
+                lu[i * n + k] = multiplier;
+                if (multiplier != 0) {
+                    for (int j = k + 1; j < n; j++) {
+                        lu[i * n + j] -= multiplier * lu[k * n + j];
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the solution of the factored system for rhs after iterative refinement
+    private double[] refine(double[] rhs) {
+        double[] x = substitute(rhs);
+        double[] residual = new double[n];
+        for (int step = 0; step < REFINEMENT_STEPS; step++) {
+            for (int i = 0; i < n; i++) {
+                double r = rhs[i];
+                for (int j = 0; j < n; j++) {
+                    r = Math.fma(-a[i * n + j], x[j], r);
+                }
+                residual[i] = r;
+            }
+            double[] correction = substitute(residual);
+            double change = 0;
+            double size = 0;
+            for (int i = 0; i < n; i++) {
+                x[i] += correction[i];
+                change = Math.max(change, Math.abs(correction[i]));
+                size = Math.max(size, Math.abs(x[i]));
+            }
+            if (change <= Math.ulp(size)) {
+                break;
+            }
+        }
+        return x;
+    }
+
+    // EFFECTS: returns x with L U x = P rhs
+    private double[] substitute(double[] rhs) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            double sum = rhs[pivots[i]];
+            for (int j = 0; j < i; j++) {
+                sum -= lu[i * n + j] * x[j];
+            }
+            x[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = x[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= lu[i * n + j] * x[j];
+            }
+            x[i] = sum / lu[i * n + i];
+        }
+        return x;
+    }
+
+    // EFFECTS: returns the continued-fraction convergent of x with the smallest denominator
+    // within RELATIVE_TOLERANCE of x, or null if none has a denominator up to MAX_DENOMINATOR
+    static Fraction approximate(double x) {
+        if (!Double.isFinite(x) || Math.abs(x) >= MAX_MAGNITUDE) {
+            return null;
+        }
+        double tolerance = RELATIVE_TOLERANCE * Math.max(1, Math.abs(x));
+        long h0 = 0;
+        long h1 = 1;
+        long k0 = 1;
+        long k1 = 0;
+        double y = x;
+        while (true) {
+            double floor = Math.floor(y);
+            if (Math.abs(floor) >= MAX_MAGNITUDE) {
+                return null;
+            }
+            long term = (long) floor;
+            long h2;
+            long k2;
+            try {
+                h2 = Math.addExact(Math.multiplyExact(term, h1), h0);
+                k2 = Math.addExact(Math.multiplyExact(term, k1), k0);
+            } catch (ArithmeticException e) {
+                return null;
+            }
+            if (k2 > MAX_DENOMINATOR) {
+                return null;
+            }
+            if (Math.abs(x - (double) h2 / k2) <= tolerance) {
+                return Fraction.valueOf(h2, k2);
+            }
+            double remainder = y - floor;
+            if (remainder == 0) {
+                return null;
+            }
+            y = 1 / remainder;
+            h0 = h1;
+            h1 = h2;
+            k0 = k1;
+            k1 = k2;
+        }
+    }
+
+    // EFFECTS: returns true if rows * x == b exactly
+    private static boolean isSolution(Fraction[][] rows, int n, Fraction[] x, Vector b) {
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = 0; i < n; i++) {
+            sum.reset();
+            for (int j = 0; j < n; j++) {
+                sum.addProduct(rows[i][j], x[j]);
+            }
+            if (!sum.toFraction().equals(b.getComponent(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
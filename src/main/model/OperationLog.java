@@ -0,0 +1,133 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents a compact in-memory record of every row operation: parallel arrays of op codes,
+// row indices and scalar references. No strings or LogElement objects are created while
+// recording; they are built only when the log is read. This is the default sink of a Matrix.
+public class OperationLog implements LogSink {
+    static final byte SWAP = 0;           // interchange rows first and second
+    static final byte SCALE = 1;          // multiply row first by scalar
+    static final byte ADD_MULTIPLE = 2;   // add scalar * row first to row second
+
+    private byte[] ops;          // op code of each operation
+    private int[] firstRows;     // row swapped, scaled or used as the source
+    private int[] secondRows;    // row swapped with or added to; unused for SCALE
+    private Fraction[] scalars;  // scalar of each SCALE and ADD_MULTIPLE, null for SWAP
+    private int size;            // number of operations recorded
+
+    // EFFECTS: constructs an empty log
+    public OperationLog() {
+        this.ops = new byte[16];
+        this.firstRows = new int[16];
+        this.secondRows = new int[16];
+        this.scalars = new Fraction[16];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records an interchange of rows r1 and r2
+    public void swapRows(int r1, int r2) {
+        append(SWAP, r1, r2, null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the scaling of row by scalar
+    public void scaleRow(int row, Fraction scalar) {
+        append(SCALE, row, row, scalar);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records adding scalar * sourceRow to destRow
+    public void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        append(ADD_MULTIPLE, sourceRow, destRow, scalar);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends one operation, growing the arrays if they are full
+    private void append(byte op, int first, int second, Fraction scalar) {
+        if (size == ops.length) {
+            int capacity = size * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            firstRows = Arrays.copyOf(firstRows, capacity);
+            secondRows = Arrays.copyOf(secondRows, capacity);
+            scalars = Arrays.copyOf(scalars, capacity);
+        }
+        ops[size] = op;
+        firstRows[size] = first;
+        secondRows[size] = second;
+        scalars[size] = scalar;
+        size++;
+    }
+
+    // EFFECTS: returns the number of operations recorded
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the op code of operation i
+    byte getOp(int i) {
+        return ops[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the row swapped, scaled or used as the source by operation i
+    int getFirstRow(int i) {
+        return firstRows[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the row swapped with or added to by operation i
+    int getSecondRow(int i) {
+        return secondRows[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns the scalar of operation i, or null for a swap
+    Fraction getScalar(int i) {
+        return scalars[i];
+    }
+
+    // REQUIRES: 0 <= i < size()
+    // EFFECTS: returns operation i as a LogElement
+    LogElement get(int i) {
+        return toElement(ops[i], firstRows[i], secondRows[i], scalars[i]);
+    }
+
+    // EFFECTS: returns a read-only list view of the log whose elements are created on access
+    public List<LogElement> getRetained() {
+        return new AbstractList<LogElement>() {
+            public LogElement get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return OperationLog.this.get(index);
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // REQUIRES: every recorded row index is below numRows
+    // EFFECTS: returns an executable plan performing the recorded operations in order on
+    // matrices and vectors with numRows rows
+    public EliminationPlan compile(int numRows) {
+        return EliminationPlan.compile(this, numRows);
+    }
+
+    // EFFECTS: returns the LogElement for one recorded operation
+    static LogElement toElement(byte op, int first, int second, Fraction scalar) {
+        switch (op) {
+            case SWAP:
+                return new SwapRow(first, second);
+            case SCALE:
+                return new ScaleRow(first, scalar);
+            default:
+                return new AddRowMultiple(first, second, scalar);
+        }
+    }
+}
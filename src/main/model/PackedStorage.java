@@ -0,0 +1,276 @@
+package model;
+
+import java.util.Arrays;
+
+// Stores matrix entries in flat row-major long arrays: one numerator per entry, and either one
+// denominator per entry or one common denominator per row. Row operations run directly on the
+// arrays with overflow-checked arithmetic; values that no longer fit in longs are rejected so
+// the owning Matrix can move to FractionArrayStorage.
+class PackedStorage implements MutableMatrixStorage {
+    private long[] numerators;          // row-major numerators
+    private long[] denominators;        // one per entry, or one per row if rowDenominators
+    private boolean rowDenominators;    // true if each row shares one denominator
+    private int rows;                   // number of rows
+    private int cols;                   // number of columns
+
+    // REQUIRES: numRows > 0, numCols > 0
+    // EFFECTS: constructs a store with given dimensions and all entries 0; each row shares a
+    // single denominator if rowDenominators is true
+    PackedStorage(int numRows, int numCols, boolean rowDenominators) {
+        this.rows = numRows;
+        this.cols = numCols;
+        this.rowDenominators = rowDenominators;
+        this.numerators = new long[numRows * numCols];
+        this.denominators = new long[rowDenominators ? numRows : numRows * numCols];
+        Arrays.fill(denominators, 1);
+    }
+
+    // REQUIRES: other != null
+    // EFFECTS: constructs a copy of other
+    private PackedStorage(PackedStorage other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.rowDenominators = other.rowDenominators;
+        this.numerators = other.numerators.clone();
+        this.denominators = other.denominators.clone();
+    }
+
+    // EFFECTS: returns the number of rows
+    public int getNumRows() {
+        return rows;
+    }
+
+    // EFFECTS: returns the number of columns
+    public int getNumCols() {
+        return cols;
+    }
+
+    // EFFECTS: returns the layout of this store
+    public StorageLayout getLayout() {
+        return rowDenominators ? StorageLayout.PACKED_ROW_DENOMINATOR : StorageLayout.PACKED;
+    }
+
+    // EFFECTS: returns the entry at [row][col]
+    public Fraction get(int row, int col) {
+        return Fraction.valueOf(numerators[row * cols + col], denominatorOf(row, row * cols + col));
+    }
+
+    // EFFECTS: returns a new array holding the entries of row
+    public Fraction[] getRowArray(int row) {
+        Fraction[] values = new Fraction[cols];
+        for (int j = 0; j < cols; j++) {
+            values[j] = get(row, j);
+        }
+        return values;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the entry at [row][col] to f; returns false if f does not fit
+    public boolean set(int row, int col, Fraction f) {
+        if (f.isBig()) {
+            return false;
+        }
+        int index = row * cols + col;
+        if (!rowDenominators) {
+            numerators[index] = f.getNumerator();
+            denominators[index] = f.getDenominator();
+            return true;
+        }
+        int start = row * cols;
+        long[] nums = new long[cols];
+        long rowDen;
+        try {
+            long den = f.getDenominator();
+            long lcm = Math.multiplyExact(denominators[row] / gcd(denominators[row], den), den);
+            long rescale = lcm / denominators[row];
+            for (int j = 0; j < cols; j++) {
+                nums[j] = checked(Math.multiplyExact(numerators[start + j], rescale));
+            }
+            nums[col] = checked(Math.multiplyExact(f.getNumerator(), lcm / den));
+            // the overwritten entry may have been the one that forced the row denominator up
+            rowDen = reduceRow(nums, lcm);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        System.arraycopy(nums, 0, numerators, start, cols);
+        denominators[row] = rowDen;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: interchanges rows r1 and r2
+    public void swapRows(int r1, int r2) {
+        swapRange(numerators, r1 * cols, r2 * cols, cols);
+        if (rowDenominators) {
+            swapRange(denominators, r1, r2, 1);
+        } else {
+            swapRange(denominators, r1 * cols, r2 * cols, cols);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: multiplies row by scalar; returns false, leaving the row unchanged, on overflow
+    public boolean scaleRow(int row, Fraction scalar) {
+        if (scalar.isBig()) {
+            return false;
+        }
+        long sn = scalar.getNumerator();
+        long sd = scalar.getDenominator();
+        int start = row * cols;
+        long[] nums = new long[cols];
+        try {
+            if (rowDenominators) {
+                for (int j = 0; j < cols; j++) {
+                    nums[j] = checked(Math.multiplyExact(numerators[start + j], sn));
+                }
+                long den = Math.multiplyExact(denominators[row], sd);
+                denominators[row] = reduceRow(nums, den);
+            } else {
+                long[] dens = new long[cols];
+                for (int j = 0; j < cols; j++) {
+                    multiplyInto(numerators[start + j], denominators[start + j], sn, sd, nums, dens, j);
+                }
+                System.arraycopy(dens, 0, denominators, start, cols);
+            }
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        System.arraycopy(nums, 0, numerators, start, cols);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds (scalar * sourceRow) to destRow; returns false, leaving the row unchanged,
+    // on overflow
+    public boolean addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        if (scalar.isBig()) {
+            return false;
+        }
+        long sn = scalar.getNumerator();
+        long sd = scalar.getDenominator();
+        int src = sourceRow * cols;
+        int dst = destRow * cols;
+        long[] nums = new long[cols];
+        try {
+            if (rowDenominators) {
+                // a/da + (sn/sd)(b/db) over the common denominator lcm(da, sd*db)
+                long da = denominators[destRow];
+                long e = Math.multiplyExact(sd, denominators[sourceRow]);
+                long g = gcd(da, e);
+                long destFactor = e / g;
+                long sourceFactor = Math.multiplyExact(sn, da / g);
+                for (int j = 0; j < cols; j++) {
+                    long term = Math.multiplyExact(numerators[src + j], sourceFactor);
+                    nums[j] = checked(Math.addExact(Math.multiplyExact(numerators[dst + j], destFactor), term));
+                }
+                denominators[destRow] = reduceRow(nums, Math.multiplyExact(da / g, e));
+            } else {
+                long[] dens = new long[cols];
+                for (int j = 0; j < cols; j++) {
+                    long bn = numerators[src + j];
+                    if (bn == 0) {
+                        nums[j] = numerators[dst + j];
+                        dens[j] = denominators[dst + j];
+                        continue;
+                    }
+                    multiplyInto(bn, denominators[src + j], sn, sd, nums, dens, j);
+                    addInto(numerators[dst + j], denominators[dst + j], nums[j], dens[j], nums, dens, j);
+                }
+                System.arraycopy(dens, 0, denominators, dst, cols);
+            }
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        System.arraycopy(nums, 0, numerators, dst, cols);
+        return true;
+    }
+
+    // EFFECTS: returns an independent copy of this store
+    public MutableMatrixStorage copy() {
+        return new PackedStorage(this);
+    }
+
+    // EFFECTS: returns the denominator of the entry at the given row and flat index
+    private long denominatorOf(int row, int index) {
+        return rowDenominators ? denominators[row] : denominators[index];
+    }
+
+    // REQUIRES: den > 0
+    // MODIFIES: nums
+    // EFFECTS: divides nums and den by their common gcd and returns the reduced denominator
+    private static long reduceRow(long[] nums, long den) {
+        long g = den;
+        for (int j = 0; j < nums.length && g != 1; j++) {
+            g = gcd(Math.abs(nums[j]), g);
+        }
+        if (g > 1) {
+            for (int j = 0; j < nums.length; j++) {
+                nums[j] /= g;
+            }
+        }
+        return den / g;
+    }
+
+    // REQUIRES: both fractions reduced with positive denominators
+    // MODIFIES: nums, dens
+    // EFFECTS: stores the reduced product (an/ad) * (bn/bd) at index i;
+    // throws ArithmeticException on overflow
+    private static void multiplyInto(long an, long ad, long bn, long bd, long[] nums, long[] dens, int i) {
+        if (an == 0 || bn == 0) {
+            nums[i] = 0;
+            dens[i] = 1;
+            return;
+        }
+        long g1 = gcd(Math.abs(an), bd);
+        long g2 = gcd(Math.abs(bn), ad);
+        nums[i] = checked(Math.multiplyExact(an / g1, bn / g2));
+        dens[i] = Math.multiplyExact(ad / g2, bd / g1);
+    }
+
+    // REQUIRES: both fractions reduced with positive denominators
+    // MODIFIES: nums, dens
+    // EFFECTS: stores the reduced sum an/ad + bn/bd at index i;
+    // throws ArithmeticException on overflow
+    private static void addInto(long an, long ad, long bn, long bd, long[] nums, long[] dens, int i) {
+        long g = gcd(ad, bd);
+        long t = checked(Math.addExact(Math.multiplyExact(an, bd / g), Math.multiplyExact(bn, ad / g)));
+        if (t == 0) {
+            nums[i] = 0;
+            dens[i] = 1;
+            return;
+        }
+        long g2 = gcd(Math.abs(t), g);
+        nums[i] = t / g2;
+        dens[i] = Math.multiplyExact(ad / g, bd / g2);
+    }
+
+    // EFFECTS: returns value; throws ArithmeticException if value is Long.MIN_VALUE,
+    // which has no long negation
+    private static long checked(long value) {
+        if (value == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow");
+        }
+        return value;
+    }
+
+    // REQUIRES: a >= 0, b >= 0
+    // EFFECTS: returns the greatest common divisor of a and b
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // MODIFIES: array
+    // EFFECTS: swaps the length-long ranges starting at i and j
+    private static void swapRange(long[] array, int i, int j, int length) {
+        for (int k = 0; k < length; k++) {
+            long temp = array[i + k];
+            array[i + k] = array[j + k];
+            array[j + k] = temp;
+        }
+    }
+}
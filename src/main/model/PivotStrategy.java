@@ -0,0 +1,17 @@
+package model;
+
+// The rules Matrix elimination can use to choose the pivot row in each column.
+public enum PivotStrategy {
+    // the entry of largest absolute value, as floating-point elimination would choose
+    LARGEST_MAGNITUDE,
+    // the first non-zero entry at or below the current row
+    FIRST_NON_ZERO,
+    // the non-zero entry of smallest height, keeping intermediate fractions small
+    SMALLEST_HEIGHT,
+    // the non-zero entry whose row has the fewest non-zeros, limiting fill-in;
+    // ties go to the entry of smallest height
+    MARKOWITZ,
+    // the non-zero entry of the row that started highest in the matrix, so the rows pivoted
+    // on are exactly the rows that are not combinations of the rows above them
+    ORIGINAL_ROW_ORDER
+}
@@ -0,0 +1,127 @@
+package model;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+// Represents arithmetic modulo a prime below 2^62. Products use Montgomery reduction with
+// R = 2^64, so values taking part in multiply() must be in Montgomery form (a * R mod p).
+class PrimeField {
+    private static final List<Long> PRIMES = new ArrayList<Long>();   // primes found so far
+    private static long nextCandidate = (1L << 62) - 1;             // next odd number to test
+
+    private long prime;        // the modulus
+    private long negInverse;   // -prime^-1 mod 2^64
+    private long rSquared;     // R^2 mod prime
+    private long one;          // 1 in Montgomery form
+
+    // REQUIRES: prime is an odd prime, prime < 2^62
+    // EFFECTS: constructs the field of integers modulo prime
+    PrimeField(long prime) {
+        this.prime = prime;
+        long inverse = prime;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - prime * inverse;
+        }
+        this.negInverse = -inverse;
+        BigInteger p = BigInteger.valueOf(prime);
+        this.rSquared = BigInteger.ONE.shiftLeft(128).mod(p).longValue();
+        this.one = BigInteger.ONE.shiftLeft(64).mod(p).longValue();
+    }
+
+    // REQUIRES: index >= 0
+    // EFFECTS: returns the index-th largest prime below 2^62
+    static synchronized long getPrime(int index) {
+        while (PRIMES.size() <= index) {
+            long candidate = nextCandidate;
+            nextCandidate -= 2;
+            if (BigInteger.valueOf(candidate).isProbablePrime(64)) {
+                PRIMES.add(candidate);
+            }
+        }
+        return PRIMES.get(index);
+    }
+
+    // EFFECTS: returns the modulus of this field
+    long getPrime() {
+        return prime;
+    }
+
+    // EFFECTS: returns value mod prime in [0, prime)
+    long reduce(long value) {
+        return Math.floorMod(value, prime);
+    }
+
+    // REQUIRES: value != null
+    // EFFECTS: returns value mod prime in [0, prime)
+    long reduce(BigInteger value) {
+        return value.mod(BigInteger.valueOf(prime)).longValue();
+    }
+
+    // REQUIRES: 0 <= a < prime
+    // EFFECTS: returns a in Montgomery form
+    long toMontgomery(long a) {
+        return multiply(a, rSquared);
+    }
+
+    // REQUIRES: 0 <= a < prime, a in Montgomery form
+    // EFFECTS: returns the ordinary residue represented by a
+    long fromMontgomery(long a) {
+        return multiply(a, 1);
+    }
+
+    // EFFECTS: returns 1 in Montgomery form
+    long one() {
+        return one;
+    }
+
+    // REQUIRES: 0 <= a, b < prime
+    // EFFECTS: returns a * b * R^-1 mod prime (the Montgomery product)
+    long multiply(long a, long b) {
+        long lo = a * b;
+        long hi = Math.multiplyHigh(a, b);
+        long m = lo * negInverse;
+        long mpHi = Math.multiplyHigh(m, prime) + ((m >> 63) & prime);
+        long t = hi + mpHi + (lo != 0 ? 1 : 0);
+        return t >= prime ? t - prime : t;
+    }
+
+    // REQUIRES: 0 <= a, b < prime
+    // EFFECTS: returns a + b mod prime
+    long add(long a, long b) {
+        long s = a + b;
+        return s >= prime ? s - prime : s;
+    }
+
+    // REQUIRES: 0 <= a, b < prime
+    // EFFECTS: returns a - b mod prime
+    long subtract(long a, long b) {
+        long d = a - b;
+        return d < 0 ? d + prime : d;
+    }
+
+    // REQUIRES: 0 < a < prime, a in Montgomery form
+    // EFFECTS: returns the multiplicative inverse of a, in Montgomery form
+    long inverse(long a) {
+        return toMontgomery(inverseOf(fromMontgomery(a)));
+    }
+
+    // REQUIRES: 0 < a < prime
+    // EFFECTS: returns the ordinary multiplicative inverse of the ordinary residue a
+    long inverseOf(long a) {
+        long r0 = prime;
+        long r1 = a;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r2 = r0 - q * r1;
+            r0 = r1;
+            r1 = r2;
+            long t2 = t0 - q * t1;
+            t0 = t1;
+            t1 = t2;
+        }
+        return t0 < 0 ? t0 + prime : t0;
+    }
+}
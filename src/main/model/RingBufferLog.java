@@ -0,0 +1,82 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.List;
+
+// Represents a log that keeps only the most recent row operations, in a fixed amount of memory.
+// Older operations are overwritten once the buffer is full.
+public class RingBufferLog implements LogSink {
+    private byte[] ops;          // op code of each buffered operation
+    private int[] firstRows;     // row swapped, scaled or used as the source
+    private int[] secondRows;    // row swapped with or added to; unused for scaling
+    private Fraction[] scalars;  // scalar of each operation, null for swaps
+    private long total;          // number of operations received so far
+
+    // REQUIRES: capacity > 0
+    // EFFECTS: constructs an empty log holding at most capacity operations
+    public RingBufferLog(int capacity) {
+        this.ops = new byte[capacity];
+        this.firstRows = new int[capacity];
+        this.secondRows = new int[capacity];
+        this.scalars = new Fraction[capacity];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records an interchange of rows r1 and r2, dropping the oldest operation if full
+    public void swapRows(int r1, int r2) {
+        append(OperationLog.SWAP, r1, r2, null);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the scaling of row by scalar, dropping the oldest operation if full
+    public void scaleRow(int row, Fraction scalar) {
+        append(OperationLog.SCALE, row, row, scalar);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records adding scalar * sourceRow to destRow, dropping the oldest operation if full
+    public void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        append(OperationLog.ADD_MULTIPLE, sourceRow, destRow, scalar);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes one operation over the oldest slot
+    private void append(byte op, int first, int second, Fraction scalar) {
+        int slot = (int) (total % ops.length);
+        ops[slot] = op;
+        firstRows[slot] = first;
+        secondRows[slot] = second;
+        scalars[slot] = scalar;
+        total++;
+    }
+
+    // EFFECTS: returns the most recent operations, oldest first, as a read-only list view whose
+    // elements are created on access
+    public List<LogElement> getRetained() {
+        int count = (int) Math.min(total, ops.length);
+        long first = total - count;
+        return new AbstractList<LogElement>() {
+            public LogElement get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                }
+                int slot = (int) ((first + index) % ops.length);
+                return OperationLog.toElement(ops[slot], firstRows[slot], secondRows[slot], scalars[slot]);
+            }
+
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    // EFFECTS: returns the number of operations received, including those already dropped
+    public long getTotal() {
+        return total;
+    }
+
+    // EFFECTS: returns the number of operations dropped to make room for newer ones
+    public long getDropped() {
+        return Math.max(0, total - ops.length);
+    }
+}
@@ -1,21 +1,21 @@
 package model;
 
 public class ScaleRow implements LogElement {
-    private Fraction DeterminantEffect;
-    private String operationString;
+    private int row;          // row scaled
+    private Fraction scalar;  // factor applied to the row
 
     // EFFECTS: constructs a log element representing scaling row by scalar
     public ScaleRow(int row, Fraction scalar) {
-       operationString = (scalar.toString() + " * R" + row + " -> R" + row);
-       this.DeterminantEffect = scalar;
+        this.row = row;
+        this.scalar = scalar;
     }
     // EFFECTS: returns the multiplicative effect this operation has on the determinant
     public Fraction getDeterminantEffect() {
-        return this.DeterminantEffect;
+        return this.scalar;
     }
     // EFFECTS: returns the formatted string description of the operation
     public String getString() {
-        return this.operationString;
+        return scalar.toString() + " * R" + row + " -> R" + row;
     }
 
 }
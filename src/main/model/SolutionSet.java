@@ -0,0 +1,58 @@
+package model;
+
+// Represents the solutions of A x = b for a batch of right-hand sides b, with the outcome of
+// each right-hand side reported separately.
+public class SolutionSet {
+    private SolutionStatus[] statuses;   // outcome for each right-hand side
+    private Vector[] solutions;          // unique solution for each right-hand side, or null
+    private int numUnknowns;             // number of columns of A
+
+    // REQUIRES: statuses.length == solutions.length, solutions[k] != null exactly when
+    // statuses[k] == UNIQUE
+    // EFFECTS: constructs a batch of solutions with the given outcomes
+    SolutionSet(SolutionStatus[] statuses, Vector[] solutions, int numUnknowns) {
+        this.statuses = statuses;
+        this.solutions = solutions;
+        this.numUnknowns = numUnknowns;
+    }
+
+    // EFFECTS: returns the number of right-hand sides solved
+    public int size() {
+        return statuses.length;
+    }
+
+    // REQUIRES: 0 <= k < size()
+    // EFFECTS: returns the outcome for right-hand side k
+    public SolutionStatus getStatus(int k) {
+        return statuses[k];
+    }
+
+    // REQUIRES: 0 <= k < size()
+    // EFFECTS: returns the unique solution for right-hand side k, or null if that system is
+    // inconsistent or underdetermined
+    public Vector getSolution(int k) {
+        return solutions[k];
+    }
+
+    // EFFECTS: returns true if every right-hand side has a unique solution
+    public boolean isAllUnique() {
+        for (SolutionStatus status : statuses) {
+            if (status != SolutionStatus.UNIQUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // REQUIRES: isAllUnique() == true, size() > 0
+    // EFFECTS: returns the matrix X whose column k is the solution for right-hand side k
+    public Matrix toMatrix() {
+        Matrix x = new Matrix(numUnknowns, statuses.length);
+        for (int k = 0; k < statuses.length; k++) {
+            for (int i = 0; i < numUnknowns; i++) {
+                x.setElement(i, k, solutions[k].getComponent(i));
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,11 @@
+package model;
+
+// The outcomes of solving a linear system A x = b for one right-hand side b.
+public enum SolutionStatus {
+    // exactly one x satisfies the system
+    UNIQUE,
+    // no x satisfies the system
+    INCONSISTENT,
+    // infinitely many x satisfy the system
+    UNDERDETERMINED
+}
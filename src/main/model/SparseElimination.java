@@ -0,0 +1,238 @@
+package model;
+
+import java.util.Arrays;
+
+// Exact elimination over sparse rows. Each row keeps only its non-zero entries, sorted by
+// column, and every column keeps a list of the rows that may hold an entry in it, so the work
+// per pivot is proportional to the entries touched rather than to the matrix dimensions.
+// Pivots are chosen Markowitz-style to limit fill-in.
+class SparseElimination {
+    private int numRows;          // number of rows
+    private int numCols;          // number of columns
+    private int[][] rowCols;      // column indices of each row's entries, ascending
+    private Fraction[][] rowVals; // values of each row's entries
+    private int[] colCounts;      // number of entries currently in each column
+    private int[][] colRows;      // rows that may hold an entry in each column (may be stale)
+    private int[] colRowsSize;    // number of used slots in each colRows list
+    private int rank;             // number of pivots found
+
+    // REQUIRES: rowCols[i] ascending and free of explicit zeros for every row
+    // EFFECTS: constructs an elimination over the given rows, taking ownership of the arrays
+    SparseElimination(int numRows, int numCols, int[][] rowCols, Fraction[][] rowVals) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.rowCols = rowCols;
+        this.rowVals = rowVals;
+        this.colCounts = new int[numCols];
+        this.colRows = new int[numCols][];
+        this.colRowsSize = new int[numCols];
+        for (int i = 0; i < numRows; i++) {
+            for (int c : rowCols[i]) {
+                colCounts[c]++;
+            }
+        }
+        for (int j = 0; j < numCols; j++) {
+            colRows[j] = new int[Math.max(colCounts[j], 1)];
+        }
+        for (int i = 0; i < numRows; i++) {
+            for (int c : rowCols[i]) {
+                colRows[c][colRowsSize[c]++] = i;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reduces the rows to Reduced Row Echelon Form. Columns are processed in order;
+    // among the rows able to pivot a column, the one with the fewest entries is chosen.
+    // Afterwards the rows are ordered so that pivot rows come first.
+    void reduce() {
+        int[] order = new int[numRows];
+        boolean[] used = new boolean[numRows];
+        rank = 0;
+        for (int j = 0; j < numCols && rank < numRows; j++) {
+            int pivot = -1;
+            for (int k = 0; k < colRowsSize[j]; k++) {
+                int r = colRows[j][k];
+                if (!used[r] && indexOf(r, j) >= 0 && (pivot < 0 || rowCols[r].length < rowCols[pivot].length)) {
+                    pivot = r;
+                }
+            }
+            if (pivot < 0) {
+                continue;
+            }
+            Fraction pivotValue = rowVals[pivot][indexOf(pivot, j)];
+            if (!pivotValue.equals(Fraction.ONE)) {
+                scaleRow(pivot, pivotValue.reciprocal());
+            }
+            eliminateColumn(pivot, j, null);
+            used[pivot] = true;
+            order[rank] = pivot;
+            rank++;
+        }
+        int next = rank;
+        for (int i = 0; i < numRows; i++) {
+            if (!used[i]) {
+                order[next++] = i;
+            }
+        }
+        int[][] newCols = new int[numRows][];
+        Fraction[][] newVals = new Fraction[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            newCols[i] = rowCols[order[i]];
+            newVals[i] = rowVals[order[i]];
+        }
+        rowCols = newCols;
+        rowVals = newVals;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: eliminates the rows to echelon form with full Markowitz pivoting: the next pivot
+    // is taken from a remaining row with the fewest entries, in the column of that row with
+    // the fewest entries, minimising (rowCount - 1) * (colCount - 1). Returns the rank.
+    int eliminateForRank() {
+        boolean[] active = new boolean[numRows];
+        Arrays.fill(active, true);
+        rank = 0;
+        while (true) {
+            int pivotRow = -1;
+            for (int i = 0; i < numRows; i++) {
+                int length = rowCols[i].length;
+                if (active[i] && length > 0 && (pivotRow < 0 || length < rowCols[pivotRow].length)) {
+                    pivotRow = i;
+                }
+            }
+            if (pivotRow < 0) {
+                return rank;
+            }
+            int pivotCol = rowCols[pivotRow][0];
+            for (int c : rowCols[pivotRow]) {
+                if (colCounts[c] < colCounts[pivotCol]) {
+                    pivotCol = c;
+                }
+            }
+            active[pivotRow] = false;
+            eliminateColumn(pivotRow, pivotCol, active);
+            rank++;
+        }
+    }
+
+    // REQUIRES: rowCols[pivotRow] contains col
+    // MODIFIES: this
+    // EFFECTS: subtracts multiples of pivotRow from every other row with an entry in col so
+    // that col is cleared; if active != null only rows marked active are updated
+    private void eliminateColumn(int pivotRow, int col, boolean[] active) {
+        Fraction pivotValue = rowVals[pivotRow][indexOf(pivotRow, col)];
+        int size = colRowsSize[col];
+        int[] candidates = Arrays.copyOf(colRows[col], size);
+        for (int r : candidates) {
+            if (r == pivotRow || (active != null && !active[r])) {
+                continue;
+            }
+            int index = indexOf(r, col);
+            if (index < 0) {
+                continue;
+            }
+            Fraction multiplier = rowVals[r][index].divide(pivotValue).negate();
+            addRowMultiple(pivotRow, r, multiplier);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: multiplies every entry of row by scalar
+    private void scaleRow(int row, Fraction scalar) {
+        Fraction[] vals = rowVals[row];
+        for (int k = 0; k < vals.length; k++) {
+            vals[k] = vals[k].multiply(scalar);
+        }
+    }
+
+    // REQUIRES: sourceRow != destRow
+    // MODIFIES: this
+    // EFFECTS: adds (scalar * sourceRow) to destRow by merging the two sorted rows, dropping
+    // cancelled entries and keeping the column bookkeeping up to date
+    private void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        int[] aCols = rowCols[destRow];
+        Fraction[] aVals = rowVals[destRow];
+        int[] bCols = rowCols[sourceRow];
+        Fraction[] bVals = rowVals[sourceRow];
+        int[] cols = new int[aCols.length + bCols.length];
+        Fraction[] vals = new Fraction[cols.length];
+        FractionAccumulator accumulator = new FractionAccumulator();
+        int a = 0;
+        int b = 0;
+        int n = 0;
+        while (a < aCols.length || b < bCols.length) {
+            int ca = a < aCols.length ? aCols[a] : Integer.MAX_VALUE;
+            int cb = b < bCols.length ? bCols[b] : Integer.MAX_VALUE;
+            if (ca < cb) {
+                cols[n] = ca;
+                vals[n++] = aVals[a++];
+            } else if (cb < ca) {
+                cols[n] = cb;
+                vals[n++] = bVals[b++].multiply(scalar);
+                colCounts[cb]++;
+                addToColumn(cb, destRow);
+            } else {
+                accumulator.set(aVals[a++]);
+                accumulator.addProduct(bVals[b++], scalar);
+                Fraction sum = accumulator.toFraction();
+                if (sum.isZero()) {
+                    colCounts[ca]--;
+                } else {
+                    cols[n] = ca;
+                    vals[n++] = sum;
+                }
+            }
+        }
+        rowCols[destRow] = Arrays.copyOf(cols, n);
+        rowVals[destRow] = Arrays.copyOf(vals, n);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that row now holds an entry in col
+    private void addToColumn(int col, int row) {
+        if (colRowsSize[col] == colRows[col].length) {
+            compactColumn(col);
+            if (colRowsSize[col] == colRows[col].length) {
+                colRows[col] = Arrays.copyOf(colRows[col], 2 * colRows[col].length);
+            }
+        }
+        colRows[col][colRowsSize[col]++] = row;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes duplicates and rows that no longer hold an entry in col from its row list
+    private void compactColumn(int col) {
+        int[] list = colRows[col];
+        Arrays.sort(list, 0, colRowsSize[col]);
+        int kept = 0;
+        for (int k = 0; k < colRowsSize[col]; k++) {
+            int r = list[k];
+            if ((kept == 0 || list[kept - 1] != r) && indexOf(r, col) >= 0) {
+                list[kept++] = r;
+            }
+        }
+        colRowsSize[col] = kept;
+    }
+
+    // EFFECTS: returns the position of col within row's entries, or a negative number if
+    // row has no entry in col
+    private int indexOf(int row, int col) {
+        return Arrays.binarySearch(rowCols[row], col);
+    }
+
+    // EFFECTS: returns the rank found by the last elimination
+    int getRank() {
+        return rank;
+    }
+
+    // EFFECTS: returns the column indices of each row's entries
+    int[][] getRowCols() {
+        return rowCols;
+    }
+
+    // EFFECTS: returns the values of each row's entries
+    Fraction[][] getRowVals() {
+        return rowVals;
+    }
+}
@@ -0,0 +1,273 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents a matrix of Fractions in compressed sparse row (CSR) form: only non-zero entries
+// are stored, so memory and the cost of products and elimination grow with the number of
+// non-zeros rather than with rows x cols.
+public class SparseMatrix {
+    private int rows;              // number of rows
+    private int cols;              // number of columns
+    private int[] rowPointers;     // entries of row i are at [rowPointers[i], rowPointers[i + 1])
+    private int[] columnIndices;   // column of each stored entry, ascending within a row
+    private Fraction[] values;     // value of each stored entry, never zero
+
+    // REQUIRES: numRows > 0, numCols > 0
+    // EFFECTS: constructs a sparse matrix with given dimensions; all entries are 0
+    public SparseMatrix(int numRows, int numCols) {
+        this.rows = numRows;
+        this.cols = numCols;
+        this.rowPointers = new int[numRows + 1];
+        this.columnIndices = new int[0];
+        this.values = new Fraction[0];
+    }
+
+    // REQUIRES: m != null
+    // EFFECTS: constructs a sparse matrix holding the non-zero entries of m
+    public SparseMatrix(Matrix m) {
+        this.rows = m.getNumRows();
+        this.cols = m.getNumCols();
+        this.rowPointers = new int[rows + 1];
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (!m.getElement(i, j).isZero()) {
+                    count++;
+                }
+            }
+        }
+        this.columnIndices = new int[count];
+        this.values = new Fraction[count];
+        int k = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                Fraction f = m.getElement(i, j);
+                if (!f.isZero()) {
+                    columnIndices[k] = j;
+                    values[k++] = f;
+                }
+            }
+            rowPointers[i + 1] = k;
+        }
+    }
+
+    // REQUIRES: rowCols[i] ascending and free of explicit zeros for every row
+    // EFFECTS: constructs a sparse matrix from per-row entry arrays
+    private SparseMatrix(int numRows, int numCols, int[][] rowCols, Fraction[][] rowVals) {
+        this.rows = numRows;
+        this.cols = numCols;
+        setRows(rowCols, rowVals);
+    }
+
+    // REQUIRES: row >= 0, row < getNumRows(), col >= 0, col < getNumCols(), f != null
+    // MODIFIES: this
+    // EFFECTS: sets the element at [row][col] to f; zero values are not stored
+    public void setElement(int row, int col, Fraction f) {
+        int index = find(row, col);
+        if (index >= 0) {
+            if (f.isZero()) {
+                removeAt(row, index);
+            } else {
+                values[index] = f;
+            }
+        } else if (!f.isZero()) {
+            insertAt(row, -index - 1, col, f);
+        }
+    }
+
+    // REQUIRES: row >= 0, row < getNumRows(), col >= 0, col < getNumCols()
+    // EFFECTS: returns the Fraction at [row][col]
+    public Fraction getElement(int row, int col) {
+        int index = find(row, col);
+        return index >= 0 ? values[index] : Fraction.ZERO;
+    }
+
+    // REQUIRES: m2 != null, getNumCols() == m2.getNumRows()
+    // EFFECTS: returns a new SparseMatrix that is the product (this * m2); each result row is
+    // gathered in a dense accumulator touched only at the columns it reaches
+    public SparseMatrix multiply(SparseMatrix m2) {
+        int[][] rowCols = new int[rows][];
+        Fraction[][] rowVals = new Fraction[rows][];
+        Fraction[] accumulator = new Fraction[m2.cols];
+        int[] touched = new int[m2.cols];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                Fraction a = values[k];
+                int inner = columnIndices[k];
+                for (int l = m2.rowPointers[inner]; l < m2.rowPointers[inner + 1]; l++) {
+                    int j = m2.columnIndices[l];
+                    Fraction product = a.multiply(m2.values[l]);
+                    if (accumulator[j] == null) {
+                        accumulator[j] = product;
+                        touched[count++] = j;
+                    } else {
+                        accumulator[j] = accumulator[j].add(product);
+                    }
+                }
+            }
+            Arrays.sort(touched, 0, count);
+            int[] resultCols = new int[count];
+            Fraction[] resultVals = new Fraction[count];
+            int n = 0;
+            for (int t = 0; t < count; t++) {
+                int j = touched[t];
+                if (!accumulator[j].isZero()) {
+                    resultCols[n] = j;
+                    resultVals[n++] = accumulator[j];
+                }
+                accumulator[j] = null;
+            }
+            rowCols[i] = Arrays.copyOf(resultCols, n);
+            rowVals[i] = Arrays.copyOf(resultVals, n);
+        }
+        return new SparseMatrix(rows, m2.cols, rowCols, rowVals);
+    }
+
+    // REQUIRES: v != null, getNumCols() == v.size()
+    // EFFECTS: returns a new Vector that is the result of the transformation (this * v)
+    public Vector multiplyVector(Vector v) {
+        Fraction[] resultComponents = new Fraction[rows];
+        FractionAccumulator sum = new FractionAccumulator();
+        for (int i = 0; i < rows; i++) {
+            sum.reset();
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                sum.addProduct(values[k], v.getComponent(columnIndices[k]));
+            }
+            resultComponents[i] = sum.toFraction();
+        }
+        return new Vector(resultComponents);
+    }
+
+    // EFFECTS: returns a new SparseMatrix that is the transpose (A^T)
+    public SparseMatrix transpose() {
+        SparseMatrix t = new SparseMatrix(cols, rows);
+        int nnz = getNumNonZeros();
+        t.columnIndices = new int[nnz];
+        t.values = new Fraction[nnz];
+        for (int k = 0; k < nnz; k++) {
+            t.rowPointers[columnIndices[k] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            t.rowPointers[j + 1] += t.rowPointers[j];
+        }
+        int[] next = Arrays.copyOf(t.rowPointers, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = next[columnIndices[k]]++;
+                t.columnIndices[position] = i;
+                t.values[position] = values[k];
+            }
+        }
+        return t;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: transforms matrix into Reduced Row Echelon Form using sparse row operations;
+    // within each column the pivot is the candidate row with the fewest non-zeros
+    public void calculaterref() {
+        SparseElimination elimination = new SparseElimination(rows, cols, copyRowCols(), copyRowVals());
+        elimination.reduce();
+        setRows(elimination.getRowCols(), elimination.getRowVals());
+    }
+
+    // EFFECTS: returns the rank of the matrix, found by sparse elimination with Markowitz
+    // pivoting to limit fill-in
+    public int getRank() {
+        return new SparseElimination(rows, cols, copyRowCols(), copyRowVals()).eliminateForRank();
+    }
+
+    // EFFECTS: returns a dense Matrix with the same entries
+    public Matrix toMatrix() {
+        Matrix m = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                m.setElement(i, columnIndices[k], values[k]);
+            }
+        }
+        return m;
+    }
+
+    // EFFECTS: returns the number of stored (non-zero) entries
+    public int getNumNonZeros() {
+        return rowPointers[rows];
+    }
+
+    // EFFECTS: returns number of rows in this SparseMatrix.
+    public int getNumRows() {
+        return rows;
+    }
+
+    // EFFECTS: returns number of columns in this SparseMatrix.
+    public int getNumCols() {
+        return cols;
+    }
+
+    // EFFECTS: returns the storage index of [row][col], or (-(insertion point) - 1) if absent
+    private int find(int row, int col) {
+        return Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts entry (col, f) of row at storage index position
+    private void insertAt(int row, int position, int col, Fraction f) {
+        int nnz = getNumNonZeros();
+        if (nnz == columnIndices.length) {
+            int capacity = Math.max(4, 2 * nnz);
+            columnIndices = Arrays.copyOf(columnIndices, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(columnIndices, position, columnIndices, position + 1, nnz - position);
+        System.arraycopy(values, position, values, position + 1, nnz - position);
+        columnIndices[position] = col;
+        values[position] = f;
+        for (int i = row + 1; i <= rows; i++) {
+            rowPointers[i]++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the entry of row stored at index position
+    private void removeAt(int row, int position) {
+        int nnz = getNumNonZeros();
+        System.arraycopy(columnIndices, position + 1, columnIndices, position, nnz - position - 1);
+        System.arraycopy(values, position + 1, values, position, nnz - position - 1);
+        values[nnz - 1] = null;
+        for (int i = row + 1; i <= rows; i++) {
+            rowPointers[i]--;
+        }
+    }
+
+    // EFFECTS: returns a copy of each row's column indices
+    private int[][] copyRowCols() {
+        int[][] rowCols = new int[rows][];
+        for (int i = 0; i < rows; i++) {
+            rowCols[i] = Arrays.copyOfRange(columnIndices, rowPointers[i], rowPointers[i + 1]);
+        }
+        return rowCols;
+    }
+
+    // EFFECTS: returns a copy of each row's values
+    private Fraction[][] copyRowVals() {
+        Fraction[][] rowVals = new Fraction[rows][];
+        for (int i = 0; i < rows; i++) {
+            rowVals[i] = Arrays.copyOfRange(values, rowPointers[i], rowPointers[i + 1]);
+        }
+        return rowVals;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the stored entries with the given per-row arrays
+    private void setRows(int[][] rowCols, Fraction[][] rowVals) {
+        this.rowPointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            rowPointers[i + 1] = rowPointers[i] + rowCols[i].length;
+        }
+        this.columnIndices = new int[rowPointers[rows]];
+        this.values = new Fraction[rowPointers[rows]];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(rowCols[i], 0, columnIndices, rowPointers[i], rowCols[i].length);
+            System.arraycopy(rowVals[i], 0, values, rowPointers[i], rowVals[i].length);
+        }
+    }
+}
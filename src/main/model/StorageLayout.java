@@ -0,0 +1,11 @@
+package model;
+
+// The ways a Matrix can lay out its entries in memory.
+public enum StorageLayout {
+    // one Fraction object per entry; holds values of any size
+    FRACTIONS,
+    // flat row-major long arrays of numerators and denominators
+    PACKED,
+    // flat row-major long array of numerators with one common denominator per row
+    PACKED_ROW_DENOMINATOR
+}
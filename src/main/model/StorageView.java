@@ -0,0 +1,80 @@
+package model;
+
+// Presents a block of another store, optionally transposed, as a store of its own without
+// copying any entries. A view has no mutators: a Matrix backed by a view copies it into a
+// store of its own before the first change, so the viewed store is never modified through it.
+class StorageView implements MatrixStorage {
+    private MatrixStorage base;     // store whose entries are viewed
+    private int firstRow;           // row of base holding the view's first entry
+    private int firstCol;           // column of base holding the view's first entry
+    private int rows;               // number of rows of the view
+    private int cols;               // number of columns of the view
+    private boolean transposed;     // true if rows of the view are columns of base
+
+    // REQUIRES: base != null, numRows > 0, numCols > 0, and the block of base starting at
+    // [firstRow][firstCol] with numRows rows and numCols columns (numCols rows and numRows
+    // columns if transposed) lies within base
+    // EFFECTS: constructs a view of that block of base, transposed if transposed is true
+    StorageView(MatrixStorage base, int firstRow, int firstCol, int numRows, int numCols, boolean transposed) {
+        this.base = base;
+        this.firstRow = firstRow;
+        this.firstCol = firstCol;
+        this.rows = numRows;
+        this.cols = numCols;
+        this.transposed = transposed;
+    }
+
+    // EFFECTS: returns the number of rows
+    public int getNumRows() {
+        return rows;
+    }
+
+    // EFFECTS: returns the number of columns
+    public int getNumCols() {
+        return cols;
+    }
+
+    // EFFECTS: returns the layout of the viewed store
+    public StorageLayout getLayout() {
+        return base.getLayout();
+    }
+
+    // EFFECTS: returns the entry at [row][col]
+    public Fraction get(int row, int col) {
+        if (transposed) {
+            return base.get(firstRow + col, firstCol + row);
+        }
+        return base.get(firstRow + row, firstCol + col);
+    }
+
+    // EFFECTS: returns the entries of row; this is the viewed store's own row when the view
+    // spans whole rows of it, so callers must not modify it
+    public Fraction[] getRowArray(int row) {
+        if (!transposed && firstCol == 0 && cols == base.getNumCols()) {
+            return base.getRowArray(firstRow + row);
+        }
+        Fraction[] values = new Fraction[cols];
+        for (int j = 0; j < cols; j++) {
+            values[j] = get(row, j);
+        }
+        return values;
+    }
+
+    // EFFECTS: returns an independent store holding the viewed entries, in the viewed store's
+    // layout if the entries fit it and in FRACTIONS layout otherwise
+    public MutableMatrixStorage copy() {
+        StorageLayout layout = getLayout();
+        if (layout == StorageLayout.FRACTIONS) {
+            return new FractionArrayStorage(this);
+        }
+        PackedStorage packed = new PackedStorage(rows, cols, layout == StorageLayout.PACKED_ROW_DENOMINATOR);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (!packed.set(i, j, get(i, j))) {
+                    return new FractionArrayStorage(this);
+                }
+            }
+        }
+        return packed;
+    }
+}
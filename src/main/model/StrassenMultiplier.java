@@ -0,0 +1,156 @@
+package model;
+
+// Exact matrix product using the Strassen-Winograd scheme: each level splits the operands into
+// 2 x 2 blocks and forms the product with 7 block multiplications and 15 block additions
+// instead of 8 multiplications. Exact multiplications cost far more than additions, so this pays
+// off for large operands. Dimensions are zero-padded so every level splits evenly, and blocks at
+// or below the cutoff are multiplied by MultiplyKernel.
+class StrassenMultiplier {
+    private static volatile int cutoff = 128;   // largest dimension handled by the classical kernel
+
+    // REQUIRES: newCutoff >= 1
+    // MODIFIES: this class
+    // EFFECTS: sets the size at or below which products use the classical kernel
+    static void setCutoff(int newCutoff) {
+        cutoff = newCutoff;
+    }
+
+    // EFFECTS: returns the size at or below which products use the classical kernel
+    static int getCutoff() {
+        return cutoff;
+    }
+
+    // REQUIRES: a has n rows of length inner, b has inner rows of length m
+    // EFFECTS: returns the n x m product a * b; uses Strassen-Winograd when every dimension
+    // exceeds the cutoff and the classical kernel otherwise
+    static Fraction[][] multiply(Fraction[][] a, Fraction[][] b, int n, int inner, int m, boolean parallel) {
+        int limit = cutoff;
+        if (Math.min(n, Math.min(inner, m)) <= limit) {
+            return MultiplyKernel.multiply(a, b, n, inner, m, parallel);
+        }
+        int levels = 0;
+        while (ceilDiv(Math.min(n, Math.min(inner, m)), 1 << levels) > limit) {
+            levels++;
+        }
+        int unit = 1 << levels;
+        int pn = ceilDiv(n, unit) * unit;
+        int pInner = ceilDiv(inner, unit) * unit;
+        int pm = ceilDiv(m, unit) * unit;
+        Fraction[][] product = recurse(pad(a, pn, pInner), pad(b, pInner, pm), levels, parallel);
+        if (pn == n && pm == m) {
+            return product;
+        }
+        return block(product, 0, 0, n, m);
+    }
+
+    // REQUIRES: every dimension of a and b is divisible by 2^levels, a's width == b's height
+    // EFFECTS: returns a * b, splitting into blocks for the given number of levels
+    private static Fraction[][] recurse(Fraction[][] a, Fraction[][] b, int levels, boolean parallel) {
+        int n = a.length;
+        int inner = b.length;
+        int m = b[0].length;
+        if (levels == 0) {
+            return MultiplyKernel.multiply(a, b, n, inner, m, parallel);
+        }
+        int hn = n / 2;
+        int hi = inner / 2;
+        int hm = m / 2;
+        Fraction[][] a11 = block(a, 0, 0, hn, hi);
+        Fraction[][] a12 = block(a, 0, hi, hn, hi);
+        Fraction[][] a21 = block(a, hn, 0, hn, hi);
+        Fraction[][] a22 = block(a, hn, hi, hn, hi);
+        Fraction[][] b11 = block(b, 0, 0, hi, hm);
+        Fraction[][] b12 = block(b, 0, hm, hi, hm);
+        Fraction[][] b21 = block(b, hi, 0, hi, hm);
+        Fraction[][] b22 = block(b, hi, hm, hi, hm);
+
+        Fraction[][] s1 = add(a21, a22);
+        Fraction[][] s2 = subtract(s1, a11);
+        Fraction[][] s3 = subtract(a11, a21);
+        Fraction[][] s4 = subtract(a12, s2);
+        Fraction[][] t1 = subtract(b12, b11);
+        Fraction[][] t2 = subtract(b22, t1);
+        Fraction[][] t3 = subtract(b22, b12);
+        Fraction[][] t4 = subtract(t2, b21);
+
+        Fraction[][] p1 = recurse(a11, b11, levels - 1, parallel);
+        Fraction[][] p2 = recurse(a12, b21, levels - 1, parallel);
+        Fraction[][] p3 = recurse(s4, b22, levels - 1, parallel);
+        Fraction[][] p4 = recurse(a22, t4, levels - 1, parallel);
+        Fraction[][] p5 = recurse(s1, t1, levels - 1, parallel);
+        Fraction[][] p6 = recurse(s2, t2, levels - 1, parallel);
+        Fraction[][] p7 = recurse(s3, t3, levels - 1, parallel);
+
+        Fraction[][] u2 = add(p1, p6);
+        Fraction[][] u3 = add(u2, p7);
+        Fraction[][] c = new Fraction[n][m];
+        place(c, add(p1, p2), 0, 0);
+        place(c, add(add(u2, p5), p3), 0, hm);
+        place(c, subtract(u3, p4), hn, 0);
+        place(c, add(u3, p5), hn, hm);
+        return c;
+    }
+
+    // EFFECTS: returns a copy of x padded with zeros to numRows x numCols
+    private static Fraction[][] pad(Fraction[][] x, int numRows, int numCols) {
+        if (x.length == numRows && x[0].length == numCols) {
+            return x;
+        }
+        Fraction zero = Fraction.ZERO;
+        Fraction[][] result = new Fraction[numRows][numCols];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                result[i][j] = (i < x.length && j < x[0].length) ? x[i][j] : zero;
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns a copy of the numRows x numCols block of x starting at [row][col]
+    private static Fraction[][] block(Fraction[][] x, int row, int col, int numRows, int numCols) {
+        Fraction[][] result = new Fraction[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            result[i] = new Fraction[numCols];
+            System.arraycopy(x[row + i], col, result[i], 0, numCols);
+        }
+        return result;
+    }
+
+    // MODIFIES: target
+    // EFFECTS: copies x into target with its top-left corner at [row][col]
+    private static void place(Fraction[][] target, Fraction[][] x, int row, int col) {
+        for (int i = 0; i < x.length; i++) {
+            System.arraycopy(x[i], 0, target[row + i], col, x[i].length);
+        }
+    }
+
+    // REQUIRES: x and y have the same dimensions
+    // EFFECTS: returns x + y
+    private static Fraction[][] add(Fraction[][] x, Fraction[][] y) {
+        Fraction[][] result = new Fraction[x.length][x[0].length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[0].length; j++) {
+                result[i][j] = y[i][j].isZero() ? x[i][j] : x[i][j].add(y[i][j]);
+            }
+        }
+        return result;
+    }
+
+    // REQUIRES: x and y have the same dimensions
+    // EFFECTS: returns x - y
+    private static Fraction[][] subtract(Fraction[][] x, Fraction[][] y) {
+        Fraction[][] result = new Fraction[x.length][x[0].length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[0].length; j++) {
+                result[i][j] = y[i][j].isZero() ? x[i][j] : x[i][j].subtract(y[i][j]);
+            }
+        }
+        return result;
+    }
+
+    // REQUIRES: b > 0
+    // EFFECTS: returns a / b rounded up
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
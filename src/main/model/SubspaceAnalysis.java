@@ -0,0 +1,93 @@
+package model;
+
+// Represents the four pieces of subspace information that one reduction of a matrix A to
+// Reduced Row Echelon Form R yields together: the rank, the pivot columns, a basis of the
+// column space (the pivot columns of A), a basis of the row space (the rows of A that are not
+// combinations of the rows above them) and a basis of the null space (one vector per free
+// column, read off R).
+public class SubspaceAnalysis {
+    private int rank;               // number of pivots
+    private int[] pivotColumns;     // pivot column indices in increasing order
+    private Vector[] columnBasis;   // pivot columns of A
+    private Vector[] rowBasis;      // rows of A independent of the rows above them
+    private Vector[] nullBasis;     // one solution of A x = 0 per free column
+
+    // REQUIRES: reduced is the Reduced Row Echelon Form of original, pivotColumns are its
+    // pivot columns and pivotRows the rows of original that are not combinations of the rows
+    // above them, both in increasing order
+    // EFFECTS: reads the bases of the subspaces of original off reduced; the column and row
+    // bases copy the pivot columns and pivot rows of original
+    SubspaceAnalysis(Matrix original, Matrix reduced, int[] pivotColumns, int[] pivotRows) {
+        int rows = original.getNumRows();
+        int cols = original.getNumCols();
+        this.rank = pivotColumns.length;
+        this.pivotColumns = pivotColumns.clone();
+        this.columnBasis = new Vector[rank];
+        this.rowBasis = new Vector[rank];
+        for (int k = 0; k < rank; k++) {
+            Fraction[] column = new Fraction[rows];
+            for (int i = 0; i < rows; i++) {
+                column[i] = original.getElement(i, pivotColumns[k]);
+            }
+            columnBasis[k] = Vector.wrap(column);
+            Fraction[] row = new Fraction[cols];
+            for (int j = 0; j < cols; j++) {
+                row[j] = original.getElement(pivotRows[k], j);
+            }
+            rowBasis[k] = Vector.wrap(row);
+        }
+        this.nullBasis = new Vector[cols - rank];
+        Fraction zero = Fraction.ZERO;
+        Fraction one = Fraction.ONE;
+        int next = 0;
+        int free = 0;
+        for (int j = 0; j < cols; j++) {
+            if (next < rank && pivotColumns[next] == j) {
+                next++;
+                continue;
+            }
+            Fraction[] x = new Fraction[cols];
+            for (int c = 0; c < cols; c++) {
+                x[c] = zero;
+            }
+            x[j] = one;
+            for (int k = 0; k < rank; k++) {
+                x[pivotColumns[k]] = reduced.getElement(k, j).negate();
+            }
+            nullBasis[free] = new Vector(x);
+            free++;
+        }
+    }
+
+    // EFFECTS: returns the rank
+    public int getRank() {
+        return rank;
+    }
+
+    // EFFECTS: returns the dimension of the null space (the nullity)
+    public int getNullity() {
+        return nullBasis.length;
+    }
+
+    // EFFECTS: returns the pivot column indices in increasing order
+    public int[] getPivotColumns() {
+        return pivotColumns.clone();
+    }
+
+    // EFFECTS: returns a basis of the column space made of the pivot columns of the matrix
+    public Vector[] getColumnBasis() {
+        return columnBasis.clone();
+    }
+
+    // EFFECTS: returns a basis of the row space made of the rows of the matrix that are not
+    // combinations of the rows above them, in increasing row order
+    public Vector[] getRowBasis() {
+        return rowBasis.clone();
+    }
+
+    // EFFECTS: returns a basis of the null space with one vector per free column; the vector
+    // for free column j has a 1 in position j and 0 in the other free positions
+    public Vector[] getNullSpaceBasis() {
+        return nullBasis.clone();
+    }
+}
@@ -1,20 +1,21 @@
 package model;
 
 public class SwapRow implements LogElement {
-    private Fraction DeterminantEffect = new Fraction(-1, 1);
-    private String operationString;
+    private int r1;   // first row interchanged
+    private int r2;   // second row interchanged
 
     // EFFECTS: constructs a log element representing swapping r1 and r2
     public SwapRow(int r1, int r2) {
-        operationString = ("R" + r1 + " <-> " + "R" + r2);
+        this.r1 = r1;
+        this.r2 = r2;
     }
 
     // EFFECTS: returns the multiplicative effect this operation has on the determinant
     public Fraction getDeterminantEffect() {
-        return this.DeterminantEffect;
+        return Fraction.MINUS_ONE;
     }
     // EFFECTS: returns the formatted string description of the operation
     public String getString() {
-        return this.operationString;
+        return "R" + r1 + " <-> " + "R" + r2;
     }
 }
@@ -4,8 +4,10 @@ import java.util.Arrays;
 
 // Represents a vector composed of Fraction components
 public class Vector {
-    private Fraction[] components; // the compononents of the vector
+    private Fraction[] components; // the compononents of the vector, or null if this views a column
     private int size;             // the dimension of the vector
+    private MatrixStorage source;  // store whose column this vector views, or null
+    private int column;            // column of source viewed
 
     // REQUIRES: components != null, components.length > 0;
     // EFFECTS: constructs a Vector with the given fraction components
@@ -14,6 +16,29 @@ public class Vector {
         this.components = Arrays.copyOf(components, components.length);
     }
 
+    // REQUIRES: 0 <= column < source.getNumCols(), source is not modified while this is in use
+    // EFFECTS: constructs a Vector that reads column of source without copying it
+    Vector(MatrixStorage source, int column) {
+        this.size = source.getNumRows();
+        this.source = source;
+        this.column = column;
+    }
+
+    // REQUIRES: components != null, components.length > 0, components is not modified while the
+    // result is in use
+    // EFFECTS: returns a Vector that reads components without copying them
+    static Vector wrap(Fraction[] components) {
+        Vector v = new Vector(components.length);
+        v.components = components;
+        return v;
+    }
+
+    // REQUIRES: size > 0
+    // EFFECTS: constructs a Vector of the given size whose components are not yet set
+    private Vector(int size) {
+        this.size = size;
+    }
+
     // REQUIRES: V2 != null, this.size() == v2.size()
     // EFFECTS: returns a new Vector that is the sum of this and v2
     public Vector add(Vector v2) {
@@ -59,14 +84,11 @@ public class Vector {
     // EFFECTS: returns the dot product of this vector and v2
     public Fraction dot(Vector v2) {
         int length = size();
-        Fraction sum = new Fraction(0, 1);
+        FractionAccumulator sum = new FractionAccumulator();
         for (int i = 0; i < length; i++) {
-            Fraction f1 = this.getComponent(i);
-            Fraction f2 = v2.getComponent(i);
-            Fraction product = f1.multiply(f2);
-            sum = sum.add(product);
+            sum.addProduct(this.getComponent(i), v2.getComponent(i));
         }
-        return sum;
+        return sum.toFraction();
     }
 
     // REQUIRES: v2 != null, size() == 3, v2.size() == 3
@@ -91,12 +113,12 @@ public class Vector {
     // EFFECTS: returns the magnitude of this vector as as a double
     public double getMagnitude() {
         int length = size();
-        Fraction squaredSum = new Fraction(0, 0);
+        FractionAccumulator squaredSum = new FractionAccumulator();
         for (int i = 0; i < length; i++) {
             Fraction f1 = this.getComponent(i);
-            squaredSum = squaredSum.add(f1.multiply(f1));
+            squaredSum.addProduct(f1, f1);
         }
-        return Math.sqrt(squaredSum.toDecimal());
+        return Math.sqrt(squaredSum.toFraction().toDecimal());
     }
 
     // REQUIRES: getMagnitude() != 0
@@ -105,9 +127,9 @@ public class Vector {
         double mag = getMagnitude();
         Fraction[] unitComponents = new Fraction[size()];
         for (int i = 0; i < this.size; i++) {
-            double originalValue = this.components[i].toDecimal();
+            double originalValue = this.getComponent(i).toDecimal();
             double normalizedValue = originalValue / mag;
-            unitComponents[i] = new Fraction(Math.round(normalizedValue * 1000000), 1000000);
+            unitComponents[i] = Fraction.valueOf(Math.round(normalizedValue * 1000000), 1000000);
         }
         return new Vector(unitComponents);
     }
@@ -116,7 +138,7 @@ public class Vector {
     // EFFECTS: returns true if the dot product of this and v2 is 0
     public boolean isOrthogonal(Vector v2) {
         Fraction dotProduct = this.dot(v2);
-        return dotProduct.getNumerator() == 0;
+        return dotProduct.isZero();
     }
 
     // EFFECTS: gets the number of components in the vector
@@ -127,6 +149,9 @@ public class Vector {
     // REQUIRES index >= 0, index < this.size()
     // EFFECTS: returns the component at the specified index
     public Fraction getComponent(int index) {
+        if (this.components == null) {
+            return this.source.get(index, this.column);
+        }
         return this.components[index];
     }
 
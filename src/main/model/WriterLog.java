@@ -0,0 +1,52 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+
+// Represents a log that streams each row operation to a Writer, one line per operation, and
+// keeps nothing in memory. The caller owns the writer and is responsible for closing it.
+public class WriterLog implements LogSink {
+    private Writer out;   // destination of the rendered operations
+
+    // REQUIRES: out != null
+    // EFFECTS: constructs a log that writes every operation to out
+    public WriterLog(Writer out) {
+        this.out = out;
+    }
+
+    // EFFECTS: writes an interchange of rows r1 and r2;
+    // throws UncheckedIOException if the writer fails
+    public void swapRows(int r1, int r2) {
+        write(new SwapRow(r1, r2));
+    }
+
+    // EFFECTS: writes the scaling of row by scalar;
+    // throws UncheckedIOException if the writer fails
+    public void scaleRow(int row, Fraction scalar) {
+        write(new ScaleRow(row, scalar));
+    }
+
+    // EFFECTS: writes the addition of (scalar * sourceRow) to destRow;
+    // throws UncheckedIOException if the writer fails
+    public void addRowMultiple(int sourceRow, int destRow, Fraction scalar) {
+        write(new AddRowMultiple(sourceRow, destRow, scalar));
+    }
+
+    // EFFECTS: writes element as one line
+    private void write(LogElement element) {
+        try {
+            out.write(element.getString());
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // EFFECTS: returns an empty list; operations are not kept
+    public List<LogElement> getRetained() {
+        return Collections.emptyList();
+    }
+}
@@ -458,7 +458,7 @@ public class VectorVision {
             System.out.println("Matrix must be square.");
             return;
         }
-        if (m.getDeterminant().getNumerator() == 0) {
+        if (m.getDeterminant().isZero()) {
             System.out.println("Matrix is singular (determinant is 0). Cannot invert.");
             return;
         }
@@ -0,0 +1,98 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FractionAccumulatorTest {
+    private FractionAccumulator sum;
+
+    @BeforeEach
+    void runBefore() {
+        sum = new FractionAccumulator();
+    }
+
+    @AfterEach
+    void runAfter() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Test
+    void testMatchesFractionArithmetic() {
+        Random random = new Random(25);
+        Fraction expected = Fraction.ZERO;
+        for (int k = 0; k < 200; k++) {
+            Fraction a = new Fraction(random.nextInt(2001) - 1000, random.nextInt(97) + 1);
+            Fraction b = new Fraction(random.nextLong() >> 20, random.nextInt(1 << 20) + 1);
+            if (k % 3 == 0) {
+                sum.subtractProduct(a, b);
+                expected = expected.subtract(a.multiply(b));
+            } else if (k % 3 == 1) {
+                sum.addProduct(a, b);
+                expected = expected.add(a.multiply(b));
+            } else {
+                sum.add(b);
+                expected = expected.add(b);
+            }
+        }
+        assertTrue(expected.equals(sum.toFraction()));
+    }
+
+    @Test
+    void testFusedMultiplyAdd() {
+        sum.set(new Fraction(1, 2));
+        sum.addProduct(new Fraction(2, 3), new Fraction(3, 4));
+        assertTrue(Fraction.ONE == sum.toFraction());
+        sum.subtractProduct(new Fraction(1, 2), new Fraction(2, 1));
+        assertTrue(sum.toFraction().isZero());
+        sum.set(new Fraction(5, 7));
+        assertTrue(new Fraction(5, 7).equals(sum.toFraction()));
+    }
+
+    @Test
+    void testReducesBeforePromoting() {
+        long q = 3_000_000_019L;
+        long r = 4_000_000_007L;
+        Metrics.reset();
+        Metrics.enable();
+        // q/q is kept unreduced, so adding 1/r overflows until the sum is reduced to 1/1
+        sum.add(new Fraction(1, q));
+        sum.add(new Fraction(q - 1, q));
+        sum.add(new Fraction(1, r));
+        assertEquals(0, Metrics.snapshot().getPromotions());
+        assertTrue(new Fraction(r + 1, r).equals(sum.toFraction()));
+    }
+
+    @Test
+    void testLargeDenominatorIsReducedAndDemoted() {
+        BigInteger twos = BigInteger.TWO.pow(150);
+        BigInteger threes = BigInteger.valueOf(3).pow(100);
+        Fraction a = new Fraction(twos, threes);
+        Fraction b = new Fraction(threes, twos);
+        assertTrue(a.isBig());
+        assertFalse(sum.isBig());
+        sum.addProduct(a, b);
+        // the product's denominator passed the reduction threshold, so the sum was reduced to
+        // 1/1 and moved back to longs without waiting for toFraction
+        assertFalse(sum.isBig());
+        sum.add(Fraction.ONE);
+        assertFalse(sum.isBig());
+        assertTrue(Fraction.valueOf(2) == sum.toFraction());
+
+        sum.reset();
+        sum.add(new Fraction(BigInteger.ONE, twos.multiply(twos)));
+        assertTrue(sum.isBig());
+        sum.add(new Fraction(1, 3));
+        Fraction expected = new Fraction(BigInteger.ONE, twos.multiply(twos)).add(new Fraction(1, 3));
+        assertTrue(expected.equals(sum.toFraction()));
+        assertFalse(sum.toFraction().isZero());
+    }
+}
@@ -3,6 +3,11 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -141,5 +146,152 @@ public class FractionTest {
         assertEquals(-1, res.getNumerator());
         assertEquals(6, res.getDenominator());
     }
-}
 
+    @Test
+    void testMultiplyPromotesOnOverflow() {
+        Fraction big = new Fraction(Long.MAX_VALUE, 1);
+        Fraction res = big.multiply(new Fraction(2, 1));
+        assertTrue(res.isBig());
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1), res.getBigNumerator());
+        assertEquals(BigInteger.ONE, res.getBigDenominator());
+    }
+
+    @Test
+    void testAddPromotesAndDemotes() {
+        Fraction max = new Fraction(Long.MAX_VALUE, 1);
+        Fraction sum = max.add(new Fraction(1, 1));
+        assertTrue(sum.isBig());
+        assertEquals("9223372036854775808/1", sum.toString());
+
+        Fraction back = sum.subtract(new Fraction(1, 1));
+        assertFalse(back.isBig());
+        assertEquals(Long.MAX_VALUE, back.getNumerator());
+    }
+
+    @Test
+    void testBigDenominatorsReduce() {
+        Fraction tiny = new Fraction(1, Long.MAX_VALUE).multiply(new Fraction(1, Long.MAX_VALUE));
+        assertTrue(tiny.isBig());
+        Fraction res = tiny.divide(tiny);
+        assertFalse(res.isBig());
+        assertEquals(1, res.getNumerator());
+        assertEquals(1, res.getDenominator());
+        assertTrue(tiny.multiply(new Fraction(Long.MAX_VALUE, 1)).equals(new Fraction(1, Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testMinValueIsPromoted() {
+        Fraction min = new Fraction(Long.MIN_VALUE, 1);
+        assertTrue(min.isBig());
+        assertEquals(Long.MIN_VALUE, min.getNumerator());
+        assertEquals("9223372036854775808/1", min.negate().toString());
+        Fraction two = new Fraction(Long.MIN_VALUE, Long.MIN_VALUE / 2);
+        assertFalse(two.isBig());
+        assertEquals(2, two.getNumerator());
+    }
+
+    @Test
+    void testNegateReciprocalSignum() {
+        assertEquals(1, negFiveSixths.negate().signum());
+        assertTrue(negFiveSixths.reciprocal().equals(new Fraction(-6, 5)));
+        assertTrue(new Fraction(0, 7).isZero());
+        assertEquals(0, new Fraction(0, 7).signum());
+    }
+
+    @Test
+    void testBigToDecimal() {
+        Fraction big = new Fraction(Long.MAX_VALUE, 1).multiply(new Fraction(4, 1));
+        assertEquals(4.0 * Long.MAX_VALUE, big.toDecimal(), 1e6);
+    }
+
+    @Test
+    void testBitLengths() {
+        Fraction f = new Fraction(-12, 5);
+        assertEquals(4, f.getNumeratorBitLength());
+        assertEquals(3, f.getDenominatorBitLength());
+        assertEquals(7, f.getHeight());
+        assertEquals(0, new Fraction(0, 1).getNumeratorBitLength());
+        Fraction big = new Fraction(BigInteger.ONE.shiftLeft(100).negate(), BigInteger.valueOf(3));
+        assertEquals(101, big.getNumeratorBitLength());
+        assertEquals(2, big.getDenominatorBitLength());
+    }
+
+    @Test
+    void testValueOfSharesCachedInstances() {
+        assertTrue(Fraction.ZERO == Fraction.valueOf(0));
+        assertTrue(Fraction.ONE == Fraction.valueOf(3, 3));
+        assertTrue(Fraction.MINUS_ONE == Fraction.valueOf(2, -2));
+        assertTrue(Fraction.valueOf(-7) == Fraction.valueOf(14, -2));
+        assertTrue(Fraction.valueOf(1, 9) == Fraction.valueOf(-3, -27));
+        assertTrue(Fraction.ZERO == oneHalf.subtract(oneHalf));
+        assertTrue(Fraction.ONE == oneHalf.add(oneHalf));
+        assertTrue(Fraction.valueOf(1, 3) == twoThirds.multiply(oneHalf));
+        assertEquals(2, Fraction.valueOf(4, 6).getNumerator());
+        assertEquals(3, Fraction.valueOf(4, 6).getDenominator());
+        assertTrue(new Fraction(Long.MAX_VALUE, 1).equals(Fraction.valueOf(Long.MAX_VALUE)));
+        assertTrue(new Fraction(1, 1).equals(Fraction.valueOf(Long.MIN_VALUE, Long.MIN_VALUE)));
+    }
+
+    @Test
+    void testBigValueOfSharesCachedInstances() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(200);
+        assertTrue(Fraction.ONE == Fraction.valueOf(huge, huge));
+        assertTrue(Fraction.valueOf(-3) == Fraction.valueOf(huge.multiply(BigInteger.valueOf(3)), huge.negate()));
+        assertTrue(Fraction.valueOf(1, 8) == Fraction.valueOf(huge, huge.shiftLeft(3)));
+        assertTrue(Fraction.ZERO == Fraction.valueOf(BigInteger.ZERO, huge));
+        Fraction minimum = Fraction.valueOf(BigInteger.valueOf(Long.MIN_VALUE), BigInteger.ONE);
+        assertTrue(new Fraction(Long.MIN_VALUE, 1).equals(minimum));
+        Fraction big = Fraction.valueOf(huge.add(BigInteger.ONE), huge);
+        assertTrue(big.isBig());
+        assertTrue(new Fraction(huge.add(BigInteger.ONE), huge).equals(big));
+        assertTrue(Fraction.valueOf(2) == Fraction.valueOf(huge, BigInteger.ONE).multiply(Fraction.valueOf(2))
+                .divide(Fraction.valueOf(huge, BigInteger.ONE)));
+    }
+
+    @Test
+    void testZeroDenominatorsAreRejected() {
+        assertThrows(ArithmeticException.class, () -> Fraction.valueOf(5, 0));
+        assertThrows(ArithmeticException.class, () -> Fraction.valueOf(0, 0));
+        assertThrows(ArithmeticException.class, () -> Fraction.valueOf(BigInteger.TEN, BigInteger.ZERO));
+        assertThrows(ArithmeticException.class, () -> Fraction.ZERO.reciprocal());
+        assertThrows(ArithmeticException.class, () -> oneHalf.divide(Fraction.ZERO));
+        assertThrows(ArithmeticException.class, () -> oneHalf.divide(oneHalf.subtract(oneHalf)));
+        assertTrue(Fraction.ONE == Fraction.ONE.reciprocal());
+        assertTrue(Fraction.valueOf(1, 2) == Fraction.valueOf(2).reciprocal());
+    }
+
+    @Test
+    void testCacheLimit() {
+        int limit = Fraction.getCacheLimit();
+        try {
+            Fraction.setCacheLimit(4);
+            assertEquals(4, Fraction.getCacheLimit());
+            assertTrue(Fraction.valueOf(-4) == Fraction.valueOf(-4));
+            assertFalse(Fraction.valueOf(5) == Fraction.valueOf(5));
+            assertTrue(Fraction.valueOf(5).equals(Fraction.valueOf(5)));
+            assertFalse(Fraction.valueOf(1, 5) == Fraction.valueOf(1, 5));
+            assertTrue(Fraction.ONE == Fraction.valueOf(1));
+        } finally {
+            Fraction.setCacheLimit(limit);
+        }
+    }
+
+    @Test
+    void testEqualsObjectAndHashCode() {
+        Object half = new Fraction(2, 4);
+        assertTrue(oneHalf.equals(half));
+        assertEquals(oneHalf.hashCode(), half.hashCode());
+        assertFalse(oneHalf.equals((Object) twoThirds));
+        assertFalse(oneHalf.equals("1/2"));
+        Fraction big = new Fraction(BigInteger.TEN.pow(30), BigInteger.valueOf(7));
+        Fraction sameBig = new Fraction(BigInteger.TEN.pow(31), BigInteger.valueOf(70));
+        assertTrue(big.equals((Object) sameBig));
+        assertEquals(big.hashCode(), sameBig.hashCode());
+        Set<Fraction> set = new HashSet<>();
+        set.add(oneHalf);
+        set.add(new Fraction(-3, -6));
+        set.add(big);
+        set.add(sameBig);
+        assertEquals(2, set.size());
+    }
+}
@@ -0,0 +1,108 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ImmutableMatrixTest {
+    private Matrix m;
+    private ImmutableMatrix frozen;
+
+    @BeforeEach
+    void runBefore() {
+        Random random = new Random(21);
+        m = new Matrix(5, 5);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                m.setElement(i, j, new Fraction(random.nextInt(9) - 4, random.nextInt(3) + 1));
+            }
+        }
+        frozen = m.freeze();
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterChanges() {
+        Fraction before = m.getElement(2, 3);
+        Fraction corner = m.getElement(0, 0);
+        Fraction det = m.getDeterminant();
+        m.setElement(2, 3, new Fraction(100, 1));
+        m.calculaterref();
+        assertTrue(before.equals(frozen.getElement(2, 3)));
+        assertTrue(det.equals(frozen.getDeterminant()));
+
+        Matrix thawed = frozen.toMatrix();
+        thawed.setElement(0, 0, new Fraction(-9, 1));
+        assertTrue(corner.equals(frozen.getElement(0, 0)));
+        assertTrue(new Fraction(-9, 1).equals(thawed.getElement(0, 0)));
+        assertTrue(before.equals(frozen.getElement(2, 3)));
+    }
+
+    @Test
+    void testOperationsReturnNewResults() {
+        Matrix reference = frozen.toMatrix();
+        ImmutableMatrix product = frozen.multiply(frozen.transpose());
+        Matrix expected = reference.multiply(reference.transpose());
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertTrue(expected.getElement(i, j).equals(product.getElement(i, j)));
+            }
+        }
+        ImmutableMatrix block = frozen.subMatrix(1, 2, 3, 2);
+        assertEquals(3, block.getNumRows());
+        assertTrue(frozen.getElement(3, 3).equals(block.getElement(2, 1)));
+        assertTrue(reference.getTrace().equals(frozen.getTrace()));
+        assertTrue(frozen.getReducedForm() == frozen.getReducedForm());
+        assertTrue(frozen.factorize() == frozen.factorize());
+        assertEquals(reference.getRank(), frozen.getRank());
+        assertEquals(reference.analyze().getNullity(), frozen.analyze().getNullity());
+        assertTrue(frozen.getColumnVector(1).equals(reference.getColumnVector(1)));
+        assertTrue(frozen.getRowVector(4).equals(reference.getRowVector(4)));
+
+        Matrix singular = new Matrix(2, 2);
+        singular.setElement(0, 0, new Fraction(1, 1));
+        Fraction[] b = {new Fraction(1, 1), new Fraction(1, 1)};
+        assertNull(singular.freeze().solve(new Vector(b)));
+    }
+
+    @Test
+    void testConcurrentReaders() throws Exception {
+        Matrix reference = frozen.toMatrix();
+        Vector[] xs = new Vector[64];
+        Vector[] bs = new Vector[64];
+        Random random = new Random(5);
+        for (int k = 0; k < xs.length; k++) {
+            Fraction[] x = new Fraction[5];
+            for (int i = 0; i < 5; i++) {
+                x[i] = new Fraction(random.nextInt(21) - 10, random.nextInt(4) + 1);
+            }
+            xs[k] = new Vector(x);
+            bs[k] = reference.multiplyVector(xs[k]);
+        }
+        Fraction det = reference.getDeterminant();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int k = 0; k < xs.length; k++) {
+                int index = k;
+                results.add(pool.submit(() -> xs[index].equals(frozen.solve(bs[index]))
+                        && det.equals(frozen.getDeterminant())
+                        && frozen.getReducedForm().getElement(4, 4).equals(new Fraction(1, 1))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
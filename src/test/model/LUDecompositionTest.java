@@ -0,0 +1,105 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LUDecompositionTest {
+    private Matrix m;
+
+    @BeforeEach
+    void runBefore() {
+        Random random = new Random(9);
+        m = new Matrix(6, 6);
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                m.setElement(i, j, new Fraction(random.nextInt(11) - 5, random.nextInt(4) + 1));
+            }
+        }
+        // a zero leading entry forces a row interchange
+        m.setElement(0, 0, new Fraction(0, 1));
+    }
+
+    @Test
+    void testFactorsReproduceMatrix() {
+        LUDecomposition lu = m.factorize();
+        Matrix product = lu.getL().multiply(lu.getU());
+        int[] permutation = lu.getPermutation();
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                assertTrue(m.getElement(permutation[i], j).equals(product.getElement(i, j)));
+                if (j < i) {
+                    assertTrue(lu.getU().getElement(i, j).isZero());
+                }
+            }
+        }
+        assertEquals(6, lu.getRank());
+        assertTrue(lu.isNonSingular());
+    }
+
+    @Test
+    void testDeterminantAndRankMatch() {
+        LUDecomposition lu = m.factorize();
+        assertTrue(m.getDeterminant().equals(lu.getDeterminant()));
+        assertEquals(m.getRank(), lu.getRank());
+    }
+
+    @Test
+    void testSolveManyRightHandSides() {
+        LUDecomposition lu = m.factorize();
+        Random random = new Random(4);
+        for (int k = 0; k < 10; k++) {
+            Fraction[] x = new Fraction[6];
+            for (int i = 0; i < 6; i++) {
+                x[i] = new Fraction(random.nextInt(21) - 10, random.nextInt(5) + 1);
+            }
+            Vector expected = new Vector(x);
+            Vector b = m.multiplyVector(expected);
+            assertTrue(expected.equals(lu.solve(b)));
+        }
+    }
+
+    @Test
+    void testSingularAndRectangular() {
+        Matrix singular = new Matrix(3, 3);
+        for (int i = 0; i < 3; i++) {
+            singular.setElement(0, i, new Fraction(i + 1, 1));
+            singular.setElement(1, i, new Fraction(2 * (i + 1), 1));
+            singular.setElement(2, i, new Fraction(1, i + 1));
+        }
+        LUDecomposition lu = singular.factorize();
+        assertEquals(2, lu.getRank());
+        assertTrue(lu.getDeterminant().isZero());
+        Fraction[] b = {new Fraction(1, 1), new Fraction(2, 1), new Fraction(1, 1)};
+        assertNull(lu.solve(new Vector(b)));
+
+        Matrix tall = new Matrix(3, 2);
+        tall.setElement(0, 0, new Fraction(1, 1));
+        tall.setElement(1, 1, new Fraction(1, 1));
+        tall.setElement(2, 0, new Fraction(1, 1));
+        tall.setElement(2, 1, new Fraction(1, 1));
+        Fraction[] consistent = {new Fraction(2, 1), new Fraction(3, 1), new Fraction(5, 1)};
+        Fraction[] inconsistent = {new Fraction(2, 1), new Fraction(3, 1), new Fraction(4, 1)};
+        Fraction[] expected = {new Fraction(2, 1), new Fraction(3, 1)};
+        assertTrue(new Vector(expected).equals(tall.factorize().solve(new Vector(consistent))));
+        assertNull(tall.factorize().solve(new Vector(inconsistent)));
+        assertEquals(1, tall.factorize().getPivotColumns()[1]);
+    }
+
+    @Test
+    void testFactorizationIsCachedUntilChanged() {
+        LUDecomposition lu = m.factorize();
+        assertTrue(lu == m.factorize());
+        m.setElement(0, 0, new Fraction(7, 1));
+        LUDecomposition changed = m.factorize();
+        assertTrue(lu != changed);
+        assertTrue(m.getDeterminant().equals(changed.getDeterminant()));
+        m.calculaterref();
+        assertTrue(changed != m.factorize());
+    }
+}
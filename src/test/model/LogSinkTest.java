@@ -0,0 +1,71 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LogSinkTest {
+    private Matrix m;
+    private String expected;
+
+    @BeforeEach
+    void runBefore() {
+        m = new Matrix(3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                m.setElement(i, j, new Fraction((i + 2) * (j + 1) + i * i, 1));
+            }
+        }
+        Matrix reference = m.copy();
+        reference.calculaterref();
+        expected = reference.getLogString();
+    }
+
+    @Test
+    void testDefaultSinkKeepsEverything() {
+        assertTrue(m.getLogSink() instanceof OperationLog);
+        m.calculaterref();
+        assertEquals(expected, m.getLogString());
+        assertEquals(((OperationLog) m.getLogSink()).size(), m.getLog().size());
+    }
+
+    @Test
+    void testRingBufferKeepsMostRecent() {
+        RingBufferLog ring = new RingBufferLog(3);
+        m.setLogSink(ring);
+        m.calculaterref();
+        String[] lines = expected.split("\n");
+        assertEquals(lines.length, ring.getTotal());
+        assertEquals(lines.length - 3, ring.getDropped());
+        List<LogElement> retained = m.getLog();
+        assertEquals(3, retained.size());
+        for (int k = 0; k < 3; k++) {
+            assertEquals(lines[lines.length - 3 + k], retained.get(k).getString());
+        }
+    }
+
+    @Test
+    void testListenerSeesEachOperation() {
+        List<String> seen = new ArrayList<String>();
+        m.setLogSink(new ListenerLog(element -> seen.add(element.getString())));
+        m.calculaterref();
+        assertEquals(String.join("\n", seen) + "\n", expected);
+        assertTrue(m.getLog().isEmpty());
+        assertEquals("", m.getLogString());
+    }
+
+    @Test
+    void testWriterStreamsOperations() {
+        StringWriter out = new StringWriter();
+        m.setLogSink(new WriterLog(out));
+        m.calculaterref();
+        assertEquals(expected, out.toString());
+        assertTrue(m.getLog().isEmpty());
+    }
+}
@@ -9,6 +9,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class MatrixTest {
     private Matrix m2x2;
@@ -385,4 +387,791 @@ public class MatrixTest {
         Matrix rectM = new Matrix(2, 3);
         assertFalse(rectM.isSquare());
     }
+
+    @Test
+    public void testHilbertInverseDoesNotOverflow() {
+        int n = 12;
+        Matrix h = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                h.setElement(i, j, new Fraction(1, i + j + 1));
+            }
+        }
+        Matrix product = h.multiply(h.invert());
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertTrue(new Fraction(i == j ? 1 : 0, 1).equals(product.getElement(i, j)));
+            }
+        }
+        assertTrue(h.getDeterminant().isBig());
+        assertEquals(n, h.getRank());
+    }
+
+    @Test
+    public void testDeterminantWithFractionsAndSwaps() {
+        Matrix m = new Matrix(3, 3);
+        m.setElement(0, 1, new Fraction(1, 2));
+        m.setElement(0, 2, new Fraction(2, 3));
+        m.setElement(1, 0, new Fraction(3, 4));
+        m.setElement(1, 2, f1);
+        m.setElement(2, 0, new Fraction(-1, 1));
+        m.setElement(2, 1, new Fraction(5, 1));
+        m.setElement(2, 2, new Fraction(1, 3));
+
+        // 0*(0 - 5) - 1/2*(1/4 + 1) + 2/3*(15/4 - 0) = -5/8 + 5/2
+        assertTrue(new Fraction(15, 8).equals(m.getDeterminant()));
+    }
+
+    @Test
+    public void testRankRectangularAndConsistency() {
+        Matrix m = new Matrix(3, 4);
+        for (int j = 0; j < 4; j++) {
+            m.setElement(0, j, new Fraction(j + 1, 1));
+            m.setElement(1, j, new Fraction(2 * (j + 1), 3));
+            m.setElement(2, j, new Fraction(j * j, 1));
+        }
+        assertEquals(2, m.getRank());
+        assertEquals(2, m.transpose().getRank());
+
+        Vector inSpan = new Vector(new Fraction[] { new Fraction(3, 1), new Fraction(2, 1), f1 });
+        Vector notSpan = new Vector(new Fraction[] { new Fraction(3, 1), f1, f1 });
+        assertTrue(m.isConsistent(inSpan));
+        assertFalse(m.isConsistent(notSpan));
+    }
+
+    @Test
+    public void testModularDeterminantMatchesBareiss() {
+        Random random = new Random(42);
+        Matrix m = new Matrix(20, 20);
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                m.setElement(i, j, new Fraction(random.nextInt(2000001) - 1000000, random.nextInt(5) + 1));
+            }
+        }
+        Fraction expected = m.getDeterminant();
+        assertTrue(expected.isBig());
+        assertTrue(expected.equals(m.getDeterminantModular()));
+        assertTrue(expected.negate().equals(m.multiply(negatedIdentity(20)).getDeterminantModular()));
+    }
+
+    @Test
+    public void testEarlyModularDeterminantIsNotProven() {
+        Random random = new Random(42);
+        // unit upper triangular with large entries: the determinant is 1, far below the bound
+        Fraction[][] entries = new Fraction[20][20];
+        for (int i = 0; i < 20; i++) {
+            for (int j = 0; j < 20; j++) {
+                long value = j > i ? random.nextInt(2000001) - 1000000 : (i == j ? 1 : 0);
+                entries[i][j] = new Fraction(value, 1);
+            }
+        }
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            // one prime per batch stops as soon as the value repeats, well short of the bound
+            MultiModularEngine engine = new MultiModularEngine(new FractionArrayStorage(entries), single);
+            Fraction det = engine.getDeterminant();
+            assertFalse(engine.isDeterminantProven());
+            assertTrue(new BareissElimination(new FractionArrayStorage(entries)).getDeterminant().equals(det));
+
+            MultiModularEngine small = new MultiModularEngine(new FractionArrayStorage(2, 2), single);
+            assertTrue(small.getDeterminant().isZero());
+            assertTrue(small.isDeterminantProven());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testModularRankAndSingularDeterminant() {
+        Matrix m = new Matrix(4, 4);
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                m.setElement(i, j, new Fraction(i * 4 + j + 1, 1));
+            }
+        }
+        assertEquals(2, m.getRankModular());
+        assertEquals(2, m.transpose().getRankModular());
+        assertTrue(m.getDeterminantModular().isZero());
+        assertEquals(0, new Matrix(3, 5).getRankModular());
+    }
+
+    // EFFECTS: returns the n x n matrix with -1 in the top-left corner and 1 elsewhere on the diagonal
+    private Matrix negatedIdentity(int n) {
+        Matrix m = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            m.setElement(i, i, f1);
+        }
+        m.setElement(0, 0, new Fraction(-1, 1));
+        return m;
+    }
+
+    @Test
+    public void testPackedLayoutsMatchFractionLayout() {
+        Random random = new Random(7);
+        Matrix reference = new Matrix(5, 6);
+        Matrix packed = new Matrix(5, 6, StorageLayout.PACKED);
+        Matrix rowDen = new Matrix(5, 6, StorageLayout.PACKED_ROW_DENOMINATOR);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 6; j++) {
+                Fraction f = new Fraction(random.nextInt(21) - 10, random.nextInt(6) + 1);
+                reference.setElement(i, j, f);
+                packed.setElement(i, j, f);
+                rowDen.setElement(i, j, f);
+            }
+        }
+        assertEquals(StorageLayout.PACKED, packed.getStorageLayout());
+        assertEquals(reference.getRank(), rowDen.getRank());
+        assertTrue(reference.transpose().multiply(reference).getDeterminant()
+                .equals(packed.transpose().multiply(packed).getDeterminant()));
+
+        reference.calculaterref();
+        packed.calculaterref();
+        rowDen.calculaterref();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 6; j++) {
+                assertTrue(reference.getElement(i, j).equals(packed.getElement(i, j)));
+                assertTrue(reference.getElement(i, j).equals(rowDen.getElement(i, j)));
+            }
+        }
+        assertEquals(reference.getLogString(), rowDen.getLogString());
+        assertEquals(StorageLayout.PACKED_ROW_DENOMINATOR, rowDen.getStorageLayout());
+    }
+
+    @Test
+    public void testPackedLayoutInflatesOnOverflow() {
+        Matrix m = new Matrix(2, 2, StorageLayout.PACKED_ROW_DENOMINATOR);
+        m.setElement(0, 0, new Fraction(1, Long.MAX_VALUE));
+        m.setElement(0, 1, new Fraction(1, Long.MAX_VALUE - 1));
+        assertEquals(StorageLayout.FRACTIONS, m.getStorageLayout());
+        assertTrue(new Fraction(1, Long.MAX_VALUE - 1).equals(m.getElement(0, 1)));
+
+        int n = 12;
+        Matrix h = new Matrix(n, n, StorageLayout.PACKED);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                h.setElement(i, j, new Fraction(1, i + j + 1));
+            }
+        }
+        Matrix product = h.invert().multiply(h);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertTrue(new Fraction(i == j ? 1 : 0, 1).equals(product.getElement(i, j)));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelrrefMatchesSequential() {
+        // dense first and last columns make those pivot steps large enough to run in parallel
+        Random random = new Random(11);
+        Matrix m = new Matrix(72, 72);
+        for (int i = 0; i < 72; i++) {
+            m.setElement(i, i, new Fraction(2, 1));
+            m.setElement(i, 0, new Fraction(random.nextInt(5) - 2, 3));
+            m.setElement(i, 71, new Fraction(random.nextInt(7) + 1, 1));
+            m.setElement(0, i, new Fraction(random.nextInt(3) - 1, 1));
+        }
+        Matrix sequential = m.copy();
+        Matrix parallel = m.copy();
+        sequential.calculaterref();
+        parallel.calculaterrefParallel();
+        for (int i = 0; i < 72; i++) {
+            for (int j = 0; j < 72; j++) {
+                assertTrue(sequential.getElement(i, j).equals(parallel.getElement(i, j)));
+            }
+        }
+        assertEquals(sequential.getLogString(), parallel.getLogString());
+    }
+
+    @Test
+    public void testTiledMultiplyMatchesDotProducts() {
+        Random random = new Random(5);
+        Matrix a = new Matrix(53, 61);
+        Matrix b = new Matrix(61, 50, StorageLayout.PACKED);
+        for (int i = 0; i < 61; i++) {
+            for (int j = 0; j < 53; j++) {
+                a.setElement(j, i, new Fraction(random.nextInt(41) - 20, random.nextInt(4) + 1));
+            }
+            for (int j = 0; j < 50; j++) {
+                b.setElement(i, j, new Fraction(random.nextInt(41) - 20, random.nextInt(7) + 1));
+            }
+        }
+        Matrix product = a.multiply(b);
+        Matrix parallel = a.multiplyParallel(b);
+        Matrix bt = b.transpose();
+        for (int i = 0; i < 53; i++) {
+            for (int j = 0; j < 50; j++) {
+                Fraction expected = new Fraction(0, 1);
+                for (int k = 0; k < 61; k++) {
+                    expected = expected.add(a.getElement(i, k).multiply(bt.getElement(j, k)));
+                }
+                assertTrue(expected.equals(product.getElement(i, j)));
+                assertTrue(expected.equals(parallel.getElement(i, j)));
+            }
+        }
+    }
+
+    @Test
+    public void testStrassenMatchesClassical() {
+        Random random = new Random(9);
+        Matrix a = new Matrix(37, 29);
+        Matrix b = new Matrix(29, 41);
+        for (int i = 0; i < 29; i++) {
+            for (int j = 0; j < 37; j++) {
+                a.setElement(j, i, new Fraction(random.nextInt(11) - 5, random.nextInt(3) + 1));
+            }
+            for (int j = 0; j < 41; j++) {
+                b.setElement(i, j, new Fraction(random.nextInt(11) - 5, 1));
+            }
+        }
+        int defaultCutoff = Matrix.getStrassenCutoff();
+        Matrix classical = a.multiply(b);
+        try {
+            Matrix.setStrassenCutoff(5);
+            Matrix strassen = a.multiply(b);
+            for (int i = 0; i < 37; i++) {
+                for (int j = 0; j < 41; j++) {
+                    assertTrue(classical.getElement(i, j).equals(strassen.getElement(i, j)));
+                }
+            }
+        } finally {
+            Matrix.setStrassenCutoff(defaultCutoff);
+        }
+    }
+
+    @Test
+    public void testSolveBatchFlagsEachColumn() {
+        // rows 0 and 1 are independent, row 2 = row 0 + row 1
+        Matrix a = new Matrix(3, 2);
+        a.setElement(0, 0, new Fraction(1, 1));
+        a.setElement(0, 1, new Fraction(2, 1));
+        a.setElement(1, 0, new Fraction(3, 1));
+        a.setElement(1, 1, new Fraction(-1, 2));
+        a.setElement(2, 0, new Fraction(4, 1));
+        a.setElement(2, 1, new Fraction(3, 2));
+        Matrix b = new Matrix(3, 2);
+        b.setElement(0, 0, new Fraction(5, 1));
+        b.setElement(1, 0, new Fraction(2, 1));
+        b.setElement(2, 0, new Fraction(7, 1));
+        b.setElement(0, 1, new Fraction(1, 1));
+
+        SolutionSet solutions = a.solve(b);
+        assertEquals(2, solutions.size());
+        assertEquals(SolutionStatus.UNIQUE, solutions.getStatus(0));
+        assertEquals(SolutionStatus.INCONSISTENT, solutions.getStatus(1));
+        assertNull(solutions.getSolution(1));
+        assertFalse(solutions.isAllUnique());
+        Vector x = solutions.getSolution(0);
+        assertTrue(new Fraction(1, 1).equals(x.getComponent(0)));
+        assertTrue(new Fraction(2, 1).equals(x.getComponent(1)));
+
+        Matrix wide = a.transpose();
+        Fraction[] c = {new Fraction(1, 1), new Fraction(2, 1)};
+        SolutionSet underdetermined = wide.solveAll(new Vector[] {new Vector(c)});
+        assertEquals(SolutionStatus.UNDERDETERMINED, underdetermined.getStatus(0));
+        assertNull(underdetermined.getSolution(0));
+    }
+
+    @Test
+    public void testSolveBatchToMatrix() {
+        Random random = new Random(2);
+        Matrix a = new Matrix(5, 5);
+        Matrix expected = new Matrix(5, 3);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                a.setElement(i, j, new Fraction(random.nextInt(9) - 4, random.nextInt(2) + 1));
+            }
+            a.setElement(i, i, new Fraction(20, 1));
+            for (int j = 0; j < 3; j++) {
+                expected.setElement(i, j, new Fraction(random.nextInt(9) - 4, random.nextInt(3) + 1));
+            }
+        }
+        SolutionSet solutions = a.solve(a.multiply(expected));
+        assertTrue(solutions.isAllUnique());
+        Matrix x = solutions.toMatrix();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertTrue(expected.getElement(i, j).equals(x.getElement(i, j)));
+            }
+        }
+    }
+
+    @Test
+    public void testDerivedPropertiesAreCachedAndInvalidated() {
+        // already reduced; the last column sums to 1 without being a pivot column
+        Matrix m = new Matrix(2, 3);
+        m.setElement(0, 0, new Fraction(1, 1));
+        m.setElement(0, 2, new Fraction(2, 1));
+        m.setElement(1, 1, new Fraction(1, 1));
+        m.setElement(1, 2, new Fraction(-1, 1));
+        int[] pivots = m.getPivotColumns();
+        assertEquals(2, pivots.length);
+        assertEquals(0, pivots[0]);
+        assertEquals(1, pivots[1]);
+        assertEquals(2, m.getColumnBasisVectors().length);
+        assertEquals(2, m.getRank());
+
+        m.setElement(1, 1, new Fraction(0, 1));
+        m.setElement(1, 2, new Fraction(0, 1));
+        assertEquals(1, m.getRank());
+        assertEquals(1, m.getPivotColumns().length);
+
+        Matrix square = new Matrix(2, 2);
+        square.setElement(0, 1, new Fraction(2, 1));
+        square.setElement(1, 0, new Fraction(3, 1));
+        assertTrue(new Fraction(-6, 1).equals(square.getDeterminant()));
+        Matrix reduced = square.getReducedForm();
+        assertTrue(new Fraction(1, 1).equals(reduced.getElement(0, 0)));
+        assertTrue(new Fraction(3, 1).equals(square.getElement(1, 0)));
+        reduced.setElement(0, 0, new Fraction(5, 1));
+        assertTrue(new Fraction(1, 1).equals(square.getReducedForm().getElement(0, 0)));
+
+        square.setElement(0, 0, new Fraction(1, 1));
+        assertTrue(new Fraction(-6, 1).equals(square.getDeterminant()));
+        square.setElement(1, 1, new Fraction(6, 1));
+        assertTrue(square.getDeterminant().isZero());
+        assertEquals(1, square.getRank());
+        square.calculaterref();
+        assertTrue(new Fraction(0, 1).equals(square.getElement(1, 0)));
+        assertTrue(square.getDeterminant().isZero());
+    }
+
+    @Test
+    public void testSolveFastMatchesExact() {
+        Random random = new Random(12);
+        Matrix a = new Matrix(8, 8);
+        Fraction[] x = new Fraction[8];
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 8; j++) {
+                a.setElement(i, j, new Fraction(random.nextInt(19) - 9, random.nextInt(4) + 1));
+            }
+            x[i] = new Fraction(random.nextInt(41) - 20, random.nextInt(7) + 1);
+        }
+        Vector b = a.multiplyVector(new Vector(x));
+        assertTrue(new Vector(x).equals(a.solveFast(b)));
+        assertTrue(a.solve(b).equals(a.solveFast(b)));
+
+        // Hilbert matrices are too ill-conditioned for doubles; the exact fallback still answers
+        Matrix hilbert = new Matrix(12, 12);
+        Fraction[] ones = new Fraction[12];
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 12; j++) {
+                hilbert.setElement(i, j, new Fraction(1, i + j + 1));
+            }
+            ones[i] = new Fraction(1, 1);
+        }
+        Vector c = hilbert.multiplyVector(new Vector(ones));
+        assertTrue(new Vector(ones).equals(hilbert.solveFast(c)));
+
+        Matrix singular = new Matrix(2, 2);
+        singular.setElement(0, 0, new Fraction(1, 1));
+        singular.setElement(1, 0, new Fraction(2, 1));
+        Fraction[] d = {new Fraction(1, 1), new Fraction(2, 1)};
+        assertNull(singular.solveFast(new Vector(d)));
+    }
+
+    @Test
+    public void testSolveFastRejectsSingularConsistentSystems() {
+        // row 2 = row 0 + c * row 1; rounding usually leaves a tiny non-zero pivot in doubles
+        Random random = new Random(1);
+        for (int k = 0; k < 200; k++) {
+            Matrix a = new Matrix(3, 3);
+            Fraction c = new Fraction(random.nextInt(9) - 4, random.nextInt(9) + 1);
+            for (int j = 0; j < 3; j++) {
+                Fraction r0 = new Fraction(random.nextInt(9) - 4, random.nextInt(9) + 1);
+                Fraction r1 = new Fraction(random.nextInt(9) - 4, random.nextInt(9) + 1);
+                a.setElement(0, j, r0);
+                a.setElement(1, j, r1);
+                a.setElement(2, j, r0.add(r1.multiply(c)));
+            }
+            Fraction[] x = new Fraction[3];
+            for (int i = 0; i < 3; i++) {
+                x[i] = new Fraction(random.nextInt(11) - 5, random.nextInt(3) + 1);
+            }
+            Vector b = a.multiplyVector(new Vector(x));
+            assertNull(a.solveFast(b));
+            assertNull(a.solve(b));
+        }
+    }
+
+    @Test
+    public void testApproximateRecoversFractions() {
+        assertTrue(new Fraction(-22, 7).equals(NumericSolver.approximate(-22.0 / 7)));
+        assertTrue(new Fraction(355, 113).equals(NumericSolver.approximate(355.0 / 113)));
+        assertTrue(new Fraction(5, 1).equals(NumericSolver.approximate(5.0)));
+        assertNull(NumericSolver.approximate(Double.NaN));
+    }
+
+    @Test
+    public void testSolveDixonMatchesExact() {
+        Random random = new Random(13);
+        Matrix a = new Matrix(10, 10);
+        Fraction[] b = new Fraction[10];
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                a.setElement(i, j, new Fraction(random.nextInt(2001) - 1000, random.nextInt(3) + 1));
+            }
+            b[i] = new Fraction(random.nextInt(201) - 100, random.nextInt(5) + 1);
+        }
+        Vector x = a.solveDixon(new Vector(b));
+        assertTrue(a.solve(new Vector(b)).equals(x));
+        assertTrue(new Vector(b).equals(a.multiplyVector(x)));
+
+        Matrix hilbert = new Matrix(12, 12);
+        Fraction[] ones = new Fraction[12];
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 12; j++) {
+                hilbert.setElement(i, j, new Fraction(1, i + j + 1));
+            }
+            ones[i] = new Fraction(1, 1);
+        }
+        assertTrue(hilbert.solve(new Vector(ones)).equals(hilbert.solveDixon(new Vector(ones))));
+
+        Matrix singular = new Matrix(2, 2);
+        singular.setElement(0, 0, new Fraction(1, 1));
+        singular.setElement(0, 1, new Fraction(2, 1));
+        singular.setElement(1, 0, new Fraction(2, 1));
+        singular.setElement(1, 1, new Fraction(4, 1));
+        Fraction[] c = {new Fraction(1, 1), new Fraction(2, 1)};
+        assertNull(singular.solveDixon(new Vector(c)));
+    }
+
+    @Test
+    public void testLoggingCanBeTurnedOff() {
+        Matrix m = new Matrix(2, 2);
+        m.setElement(0, 1, new Fraction(2, 1));
+        m.setElement(1, 0, new Fraction(3, 1));
+        m.setElement(1, 1, new Fraction(1, 1));
+        Matrix quiet = m.copy();
+        assertTrue(quiet.isLogging());
+        quiet.setLogging(false);
+        assertFalse(quiet.isLogging());
+
+        m.calculaterref();
+        quiet.calculaterref();
+        assertEquals(4, m.getLog().size());
+        assertTrue(quiet.getLog().isEmpty());
+        assertEquals("", quiet.getLogString());
+        assertTrue(new Fraction(1, 1).equals(quiet.getElement(0, 0)));
+        assertTrue(new Fraction(1, 1).equals(quiet.getElement(1, 1)));
+
+        List<LogElement> log = m.getLog();
+        assertEquals("R1 <-> R0", log.get(0).getString());
+        assertTrue(new Fraction(-1, 1).equals(log.get(0).getDeterminantEffect()));
+        assertTrue(new Fraction(1, 3).equals(log.get(1).getDeterminantEffect()));
+        assertTrue(m.getLogString().startsWith("R1 <-> R0\n1/3 * R0 -> R0\n"));
+        assertEquals(4, m.getLogString().split("\n").length);
+
+        m.invert();
+        m.getPivotColumns();
+        assertEquals(4, m.getLog().size());
+    }
+
+    @Test
+    public void testEliminationPlanReplays() {
+        Random random = new Random(18);
+        Matrix a = new Matrix(5, 5);
+        Fraction[] b = new Fraction[5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                a.setElement(i, j, new Fraction(random.nextInt(13) - 6, random.nextInt(3) + 1));
+            }
+            a.setElement(i, i, new Fraction(i - 2, 1));
+            b[i] = new Fraction(random.nextInt(9) - 4, 1);
+        }
+        EliminationPlan plan = a.getEliminationPlan();
+        assertTrue(plan.size() > 0);
+        assertEquals(5, plan.getNumRows());
+        assertTrue(plan == a.getEliminationPlan());
+        assertTrue(a.getLog().isEmpty());
+
+        Matrix reduced = plan.apply(a);
+        Matrix inverse = plan.applyToIdentity();
+        Matrix expectedInverse = a.invert();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertTrue(a.getReducedForm().getElement(i, j).equals(reduced.getElement(i, j)));
+                assertTrue(expectedInverse.getElement(i, j).equals(inverse.getElement(i, j)));
+            }
+        }
+        assertTrue(a.solve(new Vector(b)).equals(plan.apply(new Vector(b))));
+
+        Matrix replayed = a.copy();
+        replayed.applyPlan(plan);
+        assertEquals(plan.size(), replayed.getLog().size());
+        assertEquals(plan.toString(), replayed.getLogString());
+
+        OperationLog recorder = new OperationLog();
+        Matrix recorded = a.copy();
+        recorded.setLogSink(recorder);
+        recorded.calculaterref(PivotStrategy.ORIGINAL_ROW_ORDER);
+        assertEquals(plan.toString(), recorder.compile(5).toString());
+
+        a.setElement(0, 0, new Fraction(100, 1));
+        assertTrue(plan != a.getEliminationPlan());
+    }
+
+    @Test
+    public void testPivotStrategiesAgree() {
+        Random random = new Random(19);
+        Matrix a = new Matrix(6, 7);
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 7; j++) {
+                if (random.nextInt(3) > 0) {
+                    a.setElement(i, j, new Fraction(random.nextInt(2001) - 1000, 1));
+                }
+            }
+        }
+        for (int j = 0; j < 7; j++) {
+            a.setElement(5, j, a.getElement(0, j).add(a.getElement(1, j)));
+        }
+        Matrix expected = a.getReducedForm();
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            Matrix m = a.copy();
+            GrowthStatistics statistics = m.calculaterref(strategy);
+            assertEquals(strategy, statistics.getStrategy());
+            assertEquals(5, statistics.getPivots());
+            assertEquals(m.getLog().size(), statistics.getRowOperations());
+            assertEquals(11, statistics.getInitialNumeratorBits());
+            assertEquals(1, statistics.getInitialDenominatorBits());
+            assertTrue(statistics.getPeakNumeratorBits() >= statistics.getFinalNumeratorBits());
+            assertTrue(statistics.getGrowthFactor() >= 1);
+            for (int i = 0; i < 6; i++) {
+                for (int j = 0; j < 7; j++) {
+                    assertTrue(expected.getElement(i, j).equals(m.getElement(i, j)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPivotStrategyChoices() {
+        Matrix m = new Matrix(3, 2);
+        m.setElement(0, 1, new Fraction(1, 1));
+        m.setElement(1, 0, new Fraction(1000, 7));
+        m.setElement(1, 1, new Fraction(5, 1));
+        m.setElement(2, 0, new Fraction(3, 1));
+        Matrix first = m.copy();
+        first.calculaterref(PivotStrategy.FIRST_NON_ZERO);
+        assertEquals("R1 <-> R0", first.getLog().get(0).getString());
+        Matrix smallest = m.copy();
+        smallest.calculaterref(PivotStrategy.SMALLEST_HEIGHT);
+        assertEquals("R2 <-> R0", smallest.getLog().get(0).getString());
+        Matrix markowitz = m.copy();
+        markowitz.calculaterref(PivotStrategy.MARKOWITZ);
+        assertEquals("R2 <-> R0", markowitz.getLog().get(0).getString());
+        Matrix largest = m.copy();
+        largest.calculaterref(PivotStrategy.LARGEST_MAGNITUDE);
+        assertEquals("R1 <-> R0", largest.getLog().get(0).getString());
+    }
+
+    @Test
+    public void testEliminationTrace() {
+        Matrix a = new Matrix(6, 6);
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 6; j++) {
+                a.setElement(i, j, new Fraction(1, i + j + 1));
+            }
+        }
+        EliminationTrace trace = new EliminationTrace();
+        Matrix m = a.copy();
+        GrowthStatistics statistics = m.calculaterref(PivotStrategy.FIRST_NON_ZERO, trace);
+        assertEquals(6, trace.getSteps());
+        assertEquals(statistics.getPeakNumeratorBits(), maxOf(trace, true));
+        // the statistics read the trace's measurements, so they match a reduction without one
+        GrowthStatistics untraced = a.copy().calculaterref(PivotStrategy.FIRST_NON_ZERO);
+        assertEquals(untraced.getPeakNumeratorBits(), statistics.getPeakNumeratorBits());
+        assertEquals(untraced.getPeakDenominatorBits(), statistics.getPeakDenominatorBits());
+        assertEquals(untraced.getFinalDenominatorBits(), statistics.getFinalDenominatorBits());
+        assertEquals(6, trace.getNonZeros(5));
+        assertEquals(1, trace.getNumeratorBits(5));
+        assertEquals(1, trace.getDenominatorBits(5));
+        for (int step = 0; step < trace.getSteps(); step++) {
+            assertTrue(trace.getEstimatedGcdReductionRatio(step) > 0);
+            assertTrue(trace.getEstimatedGcdReductionRatio(step) <= 1);
+        }
+        assertFalse(trace.exceedsLongRange());
+
+        EliminationTrace luTrace = new EliminationTrace();
+        LUDecomposition lu = new LUDecomposition(a, luTrace);
+        assertEquals(6, lu.getRank());
+        assertEquals(6, luTrace.getSteps());
+        assertEquals(21, luTrace.getNonZeros(5));
+        assertTrue(luTrace.getMaxBits() > 10);
+
+        Matrix big = new Matrix(2, 2);
+        big.setElement(0, 0, new Fraction(1, 3));
+        big.setElement(0, 1, new Fraction(Long.MAX_VALUE, 1));
+        big.setElement(1, 0, new Fraction(1, 5));
+        EliminationTrace bigTrace = new EliminationTrace();
+        big.calculaterref(PivotStrategy.LARGEST_MAGNITUDE, bigTrace);
+        assertTrue(bigTrace.exceedsLongRange());
+    }
+
+    @Test
+    void testTraceMeasuresChangedRowsOnly() {
+        Random random = new Random(20);
+        Matrix a = new Matrix(7, 5);
+        for (int i = 0; i < 7; i++) {
+            for (int j = 0; j < 5; j++) {
+                if (random.nextInt(3) > 0) {
+                    a.setElement(i, j, new Fraction(random.nextInt(41) - 20, random.nextInt(6) + 1));
+                }
+            }
+        }
+        for (PivotStrategy strategy : PivotStrategy.values()) {
+            // each step re-measures only the rows it changed; the last step must still see the
+            // whole reduced matrix, including the rows that were swapped
+            EliminationTrace trace = new EliminationTrace();
+            Matrix m = a.copy();
+            m.calculaterref(strategy, trace);
+            int last = trace.getSteps() - 1;
+            int nonZeros = 0;
+            int numeratorBits = 0;
+            int denominatorBits = 0;
+            for (int i = 0; i < 7; i++) {
+                for (int j = 0; j < 5; j++) {
+                    Fraction f = m.getElement(i, j);
+                    if (!f.isZero()) {
+                        nonZeros++;
+                        numeratorBits = Math.max(numeratorBits, f.getNumeratorBitLength());
+                        denominatorBits = Math.max(denominatorBits, f.getDenominatorBitLength());
+                    }
+                }
+            }
+            assertEquals(nonZeros, trace.getNonZeros(last));
+            assertEquals(numeratorBits, trace.getNumeratorBits(last));
+            assertEquals(denominatorBits, trace.getDenominatorBits(last));
+        }
+
+        // row 0 has no entry in column 0, so the first step swaps it below without updating it
+        Matrix swapped = new Matrix(3, 2);
+        swapped.setElement(0, 1, new Fraction(1, 1));
+        swapped.setElement(1, 0, new Fraction(2, 1));
+        swapped.setElement(1, 1, new Fraction(4, 1));
+        EliminationTrace trace = new EliminationTrace();
+        swapped.calculaterref(PivotStrategy.FIRST_NON_ZERO, trace);
+        assertEquals(3, trace.getNonZeros(0));
+        assertEquals(2, trace.getNumeratorBits(0));
+        assertEquals(2, trace.getNonZeros(1));
+    }
+
+    @Test
+    void testViewsShareEntriesUntilChanged() {
+        Matrix a = new Matrix(3, 4);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                a.setElement(i, j, new Fraction(4 * i + j, 1));
+            }
+        }
+        Vector row = a.getRowVector(1);
+        Vector column = a.getColumnVector(2);
+        Matrix block = a.subMatrix(1, 1, 2, 3);
+        Matrix at = a.transpose();
+        Matrix copy = a.copy();
+        assertEquals(5, row.getComponent(1).getNumerator());
+        assertEquals(10, column.getComponent(2).getNumerator());
+        assertEquals(2, block.getNumRows());
+        assertEquals(3, block.getNumCols());
+        assertEquals(11, block.getElement(1, 2).getNumerator());
+        assertEquals(4, at.getNumRows());
+        assertEquals(9, at.getElement(1, 2).getNumerator());
+
+        a.setElement(1, 1, new Fraction(-1, 1));
+        a.calculaterref();
+        assertEquals(5, row.getComponent(1).getNumerator());
+        assertEquals(10, column.getComponent(2).getNumerator());
+        assertEquals(5, block.getElement(0, 0).getNumerator());
+        assertEquals(5, at.getElement(1, 1).getNumerator());
+        assertEquals(5, copy.getElement(1, 1).getNumerator());
+
+        block.setElement(0, 0, new Fraction(7, 1));
+        at.calculaterref();
+        assertEquals(7, block.getElement(0, 0).getNumerator());
+        assertEquals(5, copy.getElement(1, 1).getNumerator());
+        assertEquals(1, at.getElement(0, 0).getNumerator());
+        assertEquals(2, at.getRank());
+        assertTrue(a.getElement(0, 0).equals(new Fraction(1, 1)));
+    }
+
+    @Test
+    void testPackedRowDenominatorShrinksWhenEntryIsOverwritten() {
+        long p = 1_099_511_627_791L;
+        long q = 1_099_511_627_803L;
+        Matrix packed = new Matrix(2, 3, StorageLayout.PACKED_ROW_DENOMINATOR);
+        packed.setElement(0, 0, new Fraction(1, p));
+        packed.setElement(0, 1, new Fraction(2, 3));
+        // replacing 1/p lets the row go back to denominator 3, so 1/q still fits beside 2/3
+        packed.setElement(0, 0, new Fraction(5, 1));
+        packed.setElement(0, 2, new Fraction(1, q));
+        assertEquals(StorageLayout.PACKED_ROW_DENOMINATOR, packed.getStorageLayout());
+        assertTrue(new Fraction(5, 1).equals(packed.getElement(0, 0)));
+        assertTrue(new Fraction(2, 3).equals(packed.getElement(0, 1)));
+        assertTrue(new Fraction(1, q).equals(packed.getElement(0, 2)));
+        packed.setElement(1, 0, new Fraction(1, 2));
+        packed.calculaterref();
+        assertEquals(StorageLayout.PACKED_ROW_DENOMINATOR, packed.getStorageLayout());
+        assertTrue(Fraction.ONE.equals(packed.getElement(0, 0)));
+    }
+
+    @Test
+    void testPackedViewsKeepLayout() {
+        Matrix packed = new Matrix(2, 3, StorageLayout.PACKED_ROW_DENOMINATOR);
+        packed.setElement(0, 0, new Fraction(1, 2));
+        packed.setElement(0, 1, new Fraction(1, 3));
+        packed.setElement(0, 2, new Fraction(1, 2));
+        packed.setElement(1, 2, new Fraction(Long.MAX_VALUE, 1));
+        Matrix transposed = packed.transpose();
+        assertEquals(StorageLayout.PACKED_ROW_DENOMINATOR, transposed.getStorageLayout());
+        // row 2 of the transpose holds 1/2 and Long.MAX_VALUE, which share no long denominator
+        transposed.setElement(0, 1, new Fraction(5, 1));
+        assertEquals(StorageLayout.FRACTIONS, transposed.getStorageLayout());
+        assertTrue(transposed.getElement(1, 0).equals(new Fraction(1, 3)));
+        assertTrue(transposed.getElement(2, 1).equals(new Fraction(Long.MAX_VALUE, 1)));
+        assertTrue(packed.getElement(1, 0).isZero());
+
+        Matrix block = packed.subMatrix(0, 0, 1, 2);
+        block.setElement(0, 1, new Fraction(1, 6));
+        assertEquals(StorageLayout.PACKED_ROW_DENOMINATOR, block.getStorageLayout());
+        assertTrue(block.getElement(0, 0).equals(new Fraction(1, 2)));
+        assertTrue(packed.getElement(0, 1).equals(new Fraction(1, 3)));
+    }
+
+    @Test
+    void testQueriesDoNotForceCopyOnNextChange() {
+        Matrix m = new Matrix(3, 4);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                m.setElement(i, j, new Fraction(i * j + 1, j + 1));
+            }
+        }
+        Matrix other = new Matrix(3, 4);
+        other.setElement(0, 0, new Fraction(2, 1));
+        int[] pivots = m.getPivotColumns();
+        SubspaceAnalysis analysis = m.analyze();
+        EliminationPlan plan = m.getEliminationPlan();
+        plan.apply(other);
+        Vector row = m.getRowVector(2);
+        Vector firstColumn = m.getColumnVector(0);
+        assertEquals(2, m.getRank());
+        assertFalse(m.isStorageShared());
+        assertFalse(other.isStorageShared());
+
+        Fraction column = analysis.getColumnBasis()[1].getComponent(2);
+        m.setElement(2, pivots[1], new Fraction(7, 1));
+        assertTrue(column.equals(analysis.getColumnBasis()[1].getComponent(2)));
+        assertTrue(new Fraction(7, 1).equals(m.getElement(2, pivots[1])));
+        assertTrue(new Fraction(2 * pivots[1] + 1, pivots[1] + 1).equals(row.getComponent(pivots[1])));
+        assertTrue(Fraction.ONE.equals(firstColumn.getComponent(2)));
+        assertTrue(other.getElement(0, 0).equals(new Fraction(2, 1)));
+    }
+
+    // EFFECTS: returns the largest numerator (or denominator) bit length over the trace's steps
+    private int maxOf(EliminationTrace trace, boolean numerators) {
+        int max = 0;
+        for (int step = 0; step < trace.getSteps(); step++) {
+            max = Math.max(max, numerators ? trace.getNumeratorBits(step) : trace.getDenominatorBits(step));
+        }
+        return max;
+    }
 }
@@ -0,0 +1,82 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+    private Matrix m;
+
+    @BeforeEach
+    void runBefore() {
+        m = new Matrix(3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                m.setElement(i, j, new Fraction(i * 3 + j + 1, j + 1));
+            }
+        }
+        Metrics.reset();
+        Metrics.enable();
+    }
+
+    @AfterEach
+    void runAfter() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Test
+    void testCountsReduction() {
+        m.calculaterref();
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals(1, snapshot.getReductions());
+        assertEquals(3, snapshot.getPivotSearches());
+        assertEquals(m.getLog().size(), snapshot.getRowOperations());
+        assertTrue(snapshot.getFractionAllocations() > 0);
+        assertTrue(snapshot.getGcdCalls() > 0);
+        assertEquals(1, snapshot.getOperationCount("calculaterref"));
+        assertTrue(snapshot.getOperationNanos("calculaterref") > 0);
+        assertTrue(snapshot.getOperationNames().contains("calculaterref"));
+        assertEquals(0, snapshot.getOperationCount("invert"));
+    }
+
+    @Test
+    void testTimesPublicOperations() {
+        m.getDeterminant();
+        m.getDeterminant();
+        m.multiply(m);
+        m.invert();
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals(1, snapshot.getOperationCount("getDeterminant"));
+        assertEquals(1, snapshot.getOperationCount("multiply"));
+        assertEquals(1, snapshot.getOperationCount("invert"));
+        assertEquals(1, snapshot.getReductions());
+    }
+
+    @Test
+    void testCountsPromotion() {
+        Fraction big = new Fraction(Long.MAX_VALUE, 1);
+        assertEquals(0, Metrics.snapshot().getPromotions());
+        assertTrue(big.add(big).isBig());
+        assertEquals(1, Metrics.snapshot().getPromotions());
+
+        Matrix packed = new Matrix(1, 1, StorageLayout.PACKED);
+        packed.setElement(0, 0, big.multiply(big));
+        assertEquals(3, Metrics.snapshot().getPromotions());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() {
+        Metrics.disable();
+        assertFalse(Metrics.isEnabled());
+        m.calculaterref();
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals(0, snapshot.getFractionAllocations());
+        assertEquals(0, snapshot.getRowOperations());
+        assertTrue(snapshot.getOperationNames().isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SparseMatrixTest {
+    private Matrix dense;
+    private SparseMatrix sparse;
+
+    @BeforeEach
+    void runBefore() {
+        Random random = new Random(3);
+        dense = new Matrix(12, 9);
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 9; j++) {
+                if (random.nextInt(5) == 0) {
+                    dense.setElement(i, j, new Fraction(random.nextInt(9) - 4, random.nextInt(3) + 1));
+                }
+            }
+        }
+        // make two rows dependent on others so the rank is deficient
+        for (int j = 0; j < 9; j++) {
+            dense.setElement(10, j, dense.getElement(0, j).add(dense.getElement(1, j)));
+            dense.setElement(11, j, dense.getElement(2, j).multiply(new Fraction(-3, 2)));
+        }
+        sparse = new SparseMatrix(dense);
+    }
+
+    @Test
+    void testSetAndGetElement() {
+        SparseMatrix m = new SparseMatrix(3, 3);
+        assertEquals(0, m.getNumNonZeros());
+        m.setElement(1, 2, new Fraction(5, 1));
+        m.setElement(1, 0, new Fraction(2, 3));
+        m.setElement(0, 1, new Fraction(-1, 1));
+        assertEquals(3, m.getNumNonZeros());
+        assertTrue(new Fraction(2, 3).equals(m.getElement(1, 0)));
+        assertTrue(m.getElement(2, 2).isZero());
+
+        m.setElement(1, 0, new Fraction(0, 1));
+        assertEquals(2, m.getNumNonZeros());
+        assertTrue(m.getElement(1, 0).isZero());
+        assertTrue(new Fraction(5, 1).equals(m.getElement(1, 2)));
+        assertTrue(new Fraction(-1, 1).equals(m.toMatrix().getElement(0, 1)));
+    }
+
+    @Test
+    void testMultiplyMatchesDense() {
+        Matrix expected = dense.multiply(dense.transpose());
+        SparseMatrix product = sparse.multiply(sparse.transpose());
+        assertSameEntries(expected, product);
+    }
+
+    @Test
+    void testMultiplyVectorMatchesDense() {
+        Fraction[] components = new Fraction[9];
+        for (int j = 0; j < 9; j++) {
+            components[j] = new Fraction(j - 3, j + 1);
+        }
+        Vector v = new Vector(components);
+        assertTrue(dense.multiplyVector(v).equals(sparse.multiplyVector(v)));
+    }
+
+    @Test
+    void testTransposeMatchesDense() {
+        assertSameEntries(dense.transpose(), sparse.transpose());
+    }
+
+    @Test
+    void testrrefAndRankMatchDense() {
+        int rank = dense.getRank();
+        assertEquals(rank, sparse.getRank());
+        assertEquals(rank, sparse.transpose().getRank());
+
+        dense.calculaterref();
+        sparse.calculaterref();
+        assertSameEntries(dense, sparse);
+    }
+
+    // EFFECTS: asserts that m and s hold exactly the same entries
+    private void assertSameEntries(Matrix m, SparseMatrix s) {
+        assertEquals(m.getNumRows(), s.getNumRows());
+        assertEquals(m.getNumCols(), s.getNumCols());
+        for (int i = 0; i < m.getNumRows(); i++) {
+            for (int j = 0; j < m.getNumCols(); j++) {
+                assertTrue(m.getElement(i, j).equals(s.getElement(i, j)));
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SubspaceAnalysisTest {
+    private Matrix m;
+
+    @BeforeEach
+    void runBefore() {
+        // column 1 = 2 * column 0, column 3 = column 0 - column 2, row 2 = row 0 + row 1
+        long[][] entries = {{1, 2, 0, 1}, {0, 0, 3, -3}, {1, 2, 3, -2}};
+        m = new Matrix(3, 4);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                m.setElement(i, j, new Fraction(entries[i][j], 1));
+            }
+        }
+    }
+
+    @Test
+    void testRankAndPivots() {
+        SubspaceAnalysis analysis = m.analyze();
+        assertEquals(2, analysis.getRank());
+        assertEquals(2, analysis.getNullity());
+        int[] pivots = analysis.getPivotColumns();
+        assertEquals(0, pivots[0]);
+        assertEquals(2, pivots[1]);
+        assertTrue(analysis == m.analyze());
+    }
+
+    @Test
+    void testBases() {
+        SubspaceAnalysis analysis = m.analyze();
+        Vector[] columns = analysis.getColumnBasis();
+        assertEquals(2, columns.length);
+        assertTrue(new Fraction(3, 1).equals(columns[1].getComponent(2)));
+
+        Vector[] rows = analysis.getRowBasis();
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].equals(m.getRowVector(0)));
+        assertTrue(rows[1].equals(m.getRowVector(1)));
+
+        Vector[] nullBasis = analysis.getNullSpaceBasis();
+        assertEquals(2, nullBasis.length);
+        for (Vector x : nullBasis) {
+            Vector product = m.multiplyVector(x);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(product.getComponent(i).isZero());
+            }
+        }
+        assertTrue(new Fraction(1, 1).equals(nullBasis[0].getComponent(1)));
+        assertTrue(nullBasis[0].getComponent(3).isZero());
+        assertTrue(new Fraction(1, 1).equals(nullBasis[1].getComponent(3)));
+        assertTrue(nullBasis[1].getComponent(1).isZero());
+    }
+
+    @Test
+    void testRowBasisSkipsRowsDependingOnRowsAbove() {
+        // row 1 = 2 * row 0 holds the largest pivot of column 0, yet row 0 comes first
+        Matrix n = new Matrix(3, 2);
+        n.setElement(0, 0, new Fraction(2, 1));
+        n.setElement(1, 0, new Fraction(4, 1));
+        n.setElement(1, 1, new Fraction(2, 1));
+        n.setElement(0, 1, new Fraction(1, 1));
+        n.setElement(2, 1, new Fraction(5, 1));
+        Vector[] rows = n.analyze().getRowBasis();
+        assertEquals(2, rows.length);
+        assertTrue(rows[0].equals(n.getRowVector(0)));
+        assertTrue(rows[1].equals(n.getRowVector(2)));
+    }
+
+    @Test
+    void testTallRankDeficientMatrixIsReducedOnce() {
+        // row 2 = row 0 + row 1 and row 3 = row 1 - row 0, so only rows 0 and 1 are kept
+        long[][] entries = {{2, 1, 3}, {4, 2, 7}, {6, 3, 10}, {2, 1, 4}};
+        Matrix tall = new Matrix(4, 3);
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 3; j++) {
+                tall.setElement(i, j, new Fraction(entries[i][j], 1));
+            }
+        }
+        Metrics.reset();
+        Metrics.enable();
+        try {
+            SubspaceAnalysis analysis = tall.analyze();
+            assertEquals(1, Metrics.snapshot().getReductions());
+            assertEquals(tall.getEliminationPlan().size(), Metrics.snapshot().getRowOperations());
+            assertEquals(2, analysis.getRank());
+            Vector[] rows = analysis.getRowBasis();
+            assertEquals(2, rows.length);
+            assertTrue(rows[0].equals(tall.getRowVector(0)));
+            assertTrue(rows[1].equals(tall.getRowVector(1)));
+        } finally {
+            Metrics.disable();
+            Metrics.reset();
+        }
+    }
+
+    @Test
+    void testInvalidatedByChange() {
+        SubspaceAnalysis analysis = m.analyze();
+        m.setElement(2, 3, new Fraction(7, 1));
+        assertTrue(analysis != m.analyze());
+        assertEquals(3, m.analyze().getRank());
+        assertEquals(1, m.getNullSpaceBasisVectors().length);
+        assertEquals(3, m.getRowBasisVectors().length);
+    }
+}